@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the db-replica service (docker compose --profile replica) stream WAL from this primary
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,89 @@
+package com.example.project.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic projects for the load test, written straight into the database before the run.
+ * Row {@code i} always gets the same name, description and schedule, so a data set of a given size
+ * is the same everywhere. Schedules spread over four years to keep the date filters selective, and
+ * names draw on a small vocabulary that {@link #SEARCH_TERMS} hits.
+ */
+final class LoadTestData {
+
+    static final String SEED_PREFIX = "Load seed ";
+
+    static final String WRITE_PREFIX = "Load write ";
+
+    static final List<String> SEARCH_TERMS = List.of("portal", "migration", "analytics", "gateway", "mobile", "billing");
+
+    private static final String INSERT_SEED_ROWS = """
+            INSERT INTO projects (name, description, start_date, end_date)
+            SELECT 'Load seed ' || i || ' ' || (ARRAY['Portal', 'Migration', 'Analytics', 'Gateway', 'Mobile', 'Billing'])[1 + i % 6]
+                       || ' ' || (ARRAY['Redesign', 'Rollout', 'Upgrade', 'Audit', 'Pilot'])[1 + i / 6 % 5],
+                   'Synthetic project ' || i || ' for the ' || (ARRAY['platform', 'payments', 'data', 'mobile'])[1 + i % 4]
+                       || ' team. ' || repeat('Milestone review and delivery planning. ', i % 20),
+                   CURRENT_DATE + (i * 37 % 1460),
+                   CURRENT_DATE + (i * 37 % 1460) + 14 + (i * 13 % 365)
+            FROM generate_series(?::int, ?::int) AS i
+            """;
+
+    private LoadTestData() {
+    }
+
+    /**
+     * Tops the seeded rows up to {@code settings.projects()} and returns their ids.
+     */
+    static List<Long> prepare(LoadTestSettings settings) {
+        try (Connection connection = DriverManager.getConnection(settings.jdbcUrl(), settings.dbUser(), settings.dbPassword())) {
+            if (settings.reset()) {
+                try (Statement statement = connection.createStatement()) {
+                    int deleted = statement.executeUpdate("DELETE FROM projects WHERE name LIKE 'Load %'");
+                    System.out.println("Deleted " + deleted + " load test projects");
+                }
+            }
+            long existing = countSeeded(connection);
+            if (existing < settings.projects()) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_SEED_ROWS)) {
+                    insert.setLong(1, existing + 1);
+                    insert.setLong(2, settings.projects());
+                    System.out.println("Seeded " + insert.executeUpdate() + " load test projects");
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE projects");
+                }
+            }
+            return seededIds(connection, settings.projects());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not prepare load test data at " + settings.jdbcUrl(), ex);
+        }
+    }
+
+    private static long countSeeded(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT count(*) FROM projects WHERE name LIKE 'Load seed %'")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static List<Long> seededIds(Connection connection, int limit) throws SQLException {
+        List<Long> ids = new ArrayList<>(limit);
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id FROM projects WHERE name LIKE 'Load seed %' ORDER BY id LIMIT ?")) {
+            select.setInt(1, limit);
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    ids.add(result.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.project.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code load.*} system properties. The database defaults match the
+ * application's own {@code DB_*} environment variables, so both point at the same local Postgres.
+ *
+ * @param baseUrl     where the application under test listens
+ * @param projects    number of seeded projects the data set is topped up to before the run
+ * @param reset       deletes all load test rows first, so every run starts from the same data set
+ * @param rate        operations started per second once ramped up (open model)
+ * @param rampUp      seconds to ramp up from one operation per second to {@code rate}
+ * @param duration    seconds to hold {@code rate}
+ * @param mix         relative weight of each {@link Operation}
+ * @param randomSeed  seed for the operation sequence, so runs with equal settings issue the same requests
+ * @param accept      media type requested from the API
+ * @param maxErrorPct failed requests, in percent, above which the run fails
+ */
+public record LoadTestSettings(
+    String baseUrl,
+    String jdbcUrl,
+    String dbUser,
+    String dbPassword,
+    int projects,
+    boolean reset,
+    int rate,
+    int rampUp,
+    int duration,
+    Map<Operation, Integer> mix,
+    long randomSeed,
+    String accept,
+    double maxErrorPct
+) {
+
+    public enum Operation {
+        LIST,
+        LIST_FILTERED,
+        GET,
+        SEARCH,
+        CREATE,
+        UPDATE
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        String jdbcUrl = "jdbc:postgresql://" + env("DB_HOST", "localhost") + ":" + env("DB_PORT", "5432")
+                + "/" + env("DB_NAME", "projectdb");
+        return new LoadTestSettings(
+                System.getProperty("load.baseUrl", "http://localhost:8080"),
+                System.getProperty("load.jdbcUrl", jdbcUrl),
+                System.getProperty("load.dbUser", env("DB_USER", "postgres")),
+                System.getProperty("load.dbPassword", env("DB_PASSWORD", "postgres")),
+                Integer.getInteger("load.projects", 100_000),
+                Boolean.getBoolean("load.reset"),
+                Integer.getInteger("load.rate", 50),
+                Integer.getInteger("load.rampUp", 10),
+                Integer.getInteger("load.duration", 60),
+                parseMix(System.getProperty("load.mix", "list:35,list_filtered:10,get:30,search:10,create:5,update:10")),
+                Long.getLong("load.randomSeed", 42L),
+                System.getProperty("load.accept", "application/json"),
+                Double.parseDouble(System.getProperty("load.maxErrorPct", "1"))
+        );
+    }
+
+    // "list:35,get:30,..." -> weights; operations left out are not run
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix must have a positive total weight");
+        }
+        return weights;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.project.loadtest;
+
+import com.example.project.loadtest.LoadTestSettings.Operation;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.OpenInjectionStep;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Mixed read/write workload against {@code /api/projects} at a fixed arrival rate (open model):
+ * each virtual user performs one operation drawn from {@code load.mix}. Operations and their targets
+ * come from a seeded random sequence over the seeded projects, so equal settings replay the same requests.
+ * Gatling writes throughput, latency percentiles and error counts per request type to its report.
+ */
+public class ProjectApiSimulation extends Simulation {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int PAGE_SIZE = 50;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+    private final List<Long> ids = LoadTestData.prepare(settings);
+
+    // First page, then the next one through its cursor, like a client paging through the list
+    private final ChainBuilder list = exec(
+            http("list").get("/api/projects")
+                    .queryParam("limit", PAGE_SIZE)
+                    .check(status().is(200), header(NEXT_CURSOR_HEADER).optional().saveAs("cursor")))
+            .doIf(session -> session.contains("cursor")).then(exec(
+                    http("list next page").get("/api/projects")
+                            .queryParam("limit", PAGE_SIZE)
+                            .queryParam("after", "#{cursor}")
+                            .check(status().is(200))));
+
+    private final ChainBuilder listFiltered = exec(
+            http("list filtered").get("/api/projects")
+                    .queryParam("activeFrom", "#{activeFrom}")
+                    .queryParam("activeTo", "#{activeTo}")
+                    .queryParam("limit", PAGE_SIZE)
+                    .check(status().is(200)));
+
+    private final ChainBuilder get = exec(
+            http("get").get("/api/projects/#{id}")
+                    .check(status().is(200)));
+
+    private final ChainBuilder search = exec(
+            http("search").get("/api/projects/search")
+                    .queryParam("q", "#{term}")
+                    .check(status().is(200)));
+
+    private final ChainBuilder create = exec(
+            http("create").post("/api/projects")
+                    .header("Content-Type", "application/json")
+                    .body(StringBody("""
+                            {"name":"#{name}","description":"Created by the load test","startDate":"#{startDate}","endDate":"#{endDate}"}"""))
+                    .check(status().is(200)));
+
+    // Read the current ETag, then PATCH against it as a client would
+    private final ChainBuilder update = exec(
+            http("get for update").get("/api/projects/#{id}")
+                    .check(status().is(200), header("ETag").saveAs("etag")))
+            .exitHereIfFailed()
+            .exec(http("patch").patch("/api/projects/#{id}")
+                    .header("Content-Type", "application/json")
+                    .header("If-Match", "#{etag}")
+                    .body(StringBody("""
+                            {"description":"Patched by the load test #{sequence}"}"""))
+                    .check(status().is(204)));
+
+    {
+        HttpProtocolBuilder protocol = http
+                .baseUrl(settings.baseUrl())
+                .acceptHeader(settings.accept())
+                .acceptEncodingHeader("gzip")
+                .shareConnections();
+
+        ScenarioBuilder mixed = scenario("Mixed workload")
+                .feed(operations())
+                .doSwitch("#{operation}").on(
+                        onCase(Operation.LIST.name()).then(list),
+                        onCase(Operation.LIST_FILTERED.name()).then(listFiltered),
+                        onCase(Operation.GET.name()).then(get),
+                        onCase(Operation.SEARCH.name()).then(search),
+                        onCase(Operation.CREATE.name()).then(create),
+                        onCase(Operation.UPDATE.name()).then(update));
+
+        List<OpenInjectionStep> injection = new ArrayList<>();
+        if (settings.rampUp() > 0) {
+            injection.add(rampUsersPerSec(1).to(settings.rate()).during(settings.rampUp()));
+        }
+        injection.add(constantUsersPerSec(settings.rate()).during(settings.duration()));
+
+        setUp(mixed.injectOpen(injection).protocols(protocol))
+                .assertions(global().failedRequests().percent().lte(settings.maxErrorPct()));
+    }
+
+    private Iterator<Map<String, Object>> operations() {
+        Random random = new Random(settings.randomSeed());
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        LocalDate today = LocalDate.now();
+        return Stream.generate(() -> {
+            Map<String, Object> record = new HashMap<>();
+            long sequence = random.nextLong(Long.MAX_VALUE);
+            LocalDate activeFrom = today.plusDays(random.nextInt(1460));
+            record.put("operation", weighted.get(random.nextInt(weighted.size())).name());
+            record.put("id", ids.get(random.nextInt(ids.size())));
+            record.put("term", LoadTestData.SEARCH_TERMS.get(random.nextInt(LoadTestData.SEARCH_TERMS.size())));
+            record.put("activeFrom", activeFrom);
+            record.put("activeTo", activeFrom.plusDays(30));
+            record.put("sequence", sequence);
+            record.put("name", LoadTestData.WRITE_PREFIX + sequence);
+            record.put("startDate", activeFrom);
+            record.put("endDate", activeFrom.plusDays(90));
+            return record;
+        }).iterator();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.project.benchmark;
+
+import com.example.project.ProjectApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Boots the application for benchmarks that need the database. Benchmarks run on the test classpath,
+ * so configuration classes from the tests (one of which switches the datasource off) are kept out of the scan.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackageClasses = ProjectApplication.class)
+@ConfigurationPropertiesScan(basePackageClasses = ProjectApplication.class)
+@ComponentScan(basePackageClasses = ProjectApplication.class, excludeFilters = {
+    @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ProjectApplication.class),
+    @ComponentScan.Filter(type = FilterType.REGEX, pattern = {".*Test", ".*Test\\$.*", ".*\\.TestConfiguration"})
+})
+public class BenchmarkApplication {
+}
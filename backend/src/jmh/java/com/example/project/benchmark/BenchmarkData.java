@@ -0,0 +1,47 @@
+package com.example.project.benchmark;
+
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.dto.ProjectDto;
+import com.example.project.entity.Project;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Representative project fixtures: a realistic name and a long, but valid, description.
+ */
+public final class BenchmarkData {
+    
+    public static final String DESCRIPTION = "Rebuild the customer portal with a new design system, self-service billing, "
+            .repeat(12).substring(0, 800);
+    
+    private BenchmarkData() {
+    }
+    
+    public static Project project(long id) {
+        return Project.builder()
+                .id(id)
+                .name("Benchmark Project " + id)
+                .description(DESCRIPTION)
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(90))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+    
+    public static ProjectCreateDto createDto(int index) {
+        return new ProjectCreateDto("Benchmark Project " + index, DESCRIPTION,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(90));
+    }
+    
+    public static List<ProjectDto> dtos(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new ProjectDto(id, "Benchmark Project " + id, DESCRIPTION,
+                        LocalDate.now().plusDays(1), LocalDate.now().plusDays(90)))
+                .toList();
+    }
+}
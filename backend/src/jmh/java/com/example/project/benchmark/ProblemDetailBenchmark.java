@@ -0,0 +1,81 @@
+package com.example.project.benchmark;
+
+import com.example.project.controller.ProjectController;
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.exception.GlobalExceptionHandler;
+import com.example.project.exception.ProjectNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+
+/**
+ * Cost of turning exceptions into RFC 7807 responses in {@link GlobalExceptionHandler}, and of writing one out.
+ */
+@State(Scope.Benchmark)
+public class ProblemDetailBenchmark extends BenchmarkDefaults {
+    
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    private WebRequest request;
+    
+    private ProjectNotFoundException notFound;
+    
+    private IllegalArgumentException illegalArgument;
+    
+    private MethodArgumentNotValidException invalidBody;
+    
+    private ProblemDetail problem;
+    
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/projects"));
+        notFound = new ProjectNotFoundException(42L);
+        illegalArgument = new IllegalArgumentException("Limit must be a positive number");
+        
+        ProjectCreateDto dto = new ProjectCreateDto("", null, null, null);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(dto, "projectCreateDto");
+        bindingResult.rejectValue("name", "NotBlank", "Project name is required");
+        bindingResult.rejectValue("startDate", "NotNull", "Start date is required");
+        bindingResult.rejectValue("endDate", "NotNull", "End date is required");
+        invalidBody = new MethodArgumentNotValidException(
+                new MethodParameter(ProjectController.class.getMethod("createProject", ProjectCreateDto.class), 0),
+                bindingResult);
+        
+        problem = handler.handleMethodArgumentNotValid(invalidBody, request).getBody();
+    }
+    
+    @Benchmark
+    public ResponseEntity<ProblemDetail> projectNotFound() {
+        return handler.handleProjectNotFound(notFound, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ProblemDetail> illegalArgument() {
+        return handler.handleIllegalArgument(illegalArgument, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ProblemDetail> validationErrors() {
+        return handler.handleMethodArgumentNotValid(invalidBody, request);
+    }
+    
+    @Benchmark
+    public byte[] serializeValidationProblem() throws IOException {
+        return objectMapper.writeValueAsBytes(problem);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.project.benchmark;
+
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.dto.ProjectDto;
+import com.example.project.dto.ProjectUpdateDto;
+import com.example.project.entity.Project;
+import com.example.project.mapper.ProjectMapper;
+import com.example.project.mapper.ProjectMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the MapStruct conversions done on every read and write.
+ */
+@State(Scope.Benchmark)
+public class ProjectMapperBenchmark extends BenchmarkDefaults {
+    
+    private final ProjectMapper mapper = new ProjectMapperImpl();
+    
+    private Project project;
+    
+    private ProjectCreateDto createDto;
+    
+    private ProjectUpdateDto updateDto;
+    
+    @Setup
+    public void setUp() {
+        project = BenchmarkData.project(1L);
+        createDto = BenchmarkData.createDto(1);
+        updateDto = new ProjectUpdateDto(createDto.name(), createDto.description(), createDto.startDate(), createDto.endDate());
+    }
+    
+    @Benchmark
+    public ProjectDto projectToProjectDto() {
+        return mapper.projectToProjectDto(project);
+    }
+    
+    @Benchmark
+    public Project projectCreateDtoToProject() {
+        return mapper.projectCreateDtoToProject(createDto);
+    }
+    
+    @Benchmark
+    public Project projectUpdateDtoToProject() {
+        Project target = new Project();
+        mapper.projectUpdateDtoToProject(updateDto, target);
+        return target;
+    }
+}
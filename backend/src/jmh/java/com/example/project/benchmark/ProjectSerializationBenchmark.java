@@ -0,0 +1,75 @@
+package com.example.project.benchmark;
+
+import com.example.project.dto.ProjectDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Jackson serialization of project lists at the sizes the API returns: a single project,
+ * the default and maximum page sizes, and the largest bulk-create response. JSON is compared
+ * with the CBOR and Smile representations offered to service clients.
+ */
+@State(Scope.Benchmark)
+public class ProjectSerializationBenchmark extends BenchmarkDefaults {
+    
+    @Param({"1", "50", "200", "1000"})
+    public int size;
+    
+    private ObjectWriter writer;
+    
+    private ObjectWriter cborWriter;
+    
+    private ObjectWriter smileWriter;
+    
+    private ObjectMapper objectMapper;
+    
+    private List<ProjectDto> projects;
+    
+    private byte[] json;
+    
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = listWriter(objectMapper);
+        cborWriter = listWriter(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        smileWriter = listWriter(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        projects = BenchmarkData.dtos(size);
+        json = writer.writeValueAsBytes(projects);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(projects);
+    }
+    
+    @Benchmark
+    public byte[] serializeCbor() throws IOException {
+        return cborWriter.writeValueAsBytes(projects);
+    }
+    
+    @Benchmark
+    public byte[] serializeSmile() throws IOException {
+        return smileWriter.writeValueAsBytes(projects);
+    }
+    
+    @Benchmark
+    public List<ProjectDto> deserialize() throws IOException {
+        return objectMapper.readerForListOf(ProjectDto.class).readValue(json);
+    }
+    
+    private static ObjectWriter listWriter(ObjectMapper mapper) {
+        return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ProjectDto.class));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.project.service;
+
+import com.example.project.benchmark.BenchmarkApplication;
+import com.example.project.benchmark.BenchmarkData;
+import com.example.project.benchmark.BenchmarkDefaults;
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.dto.ProjectPatchDto;
+import com.example.project.dto.ProjectUpdateDto;
+import com.example.project.entity.Project;
+import com.example.project.repository.ProjectFilter;
+import com.example.project.repository.ProjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Read and write paths of {@link ProjectService} against the PostgreSQL database configured through
+ * {@code DB_HOST}, {@code DB_PORT}, {@code DB_NAME}, {@code DB_USER} and {@code DB_PASSWORD} (a local one by default).
+ * The project cache is disabled so every read reaches the database. Fixture projects are created
+ * up front and removed afterwards; rows already in the database stay untouched.
+ */
+@State(Scope.Benchmark)
+public class ProjectServiceBenchmark extends BenchmarkDefaults {
+    
+    private static final int FIXTURES = 1000;
+    
+    private static final Set<ProjectField> LIST_FIELDS = ProjectField.parse("id,name");
+    
+    private ConfigurableApplicationContext context;
+    
+    private ProjectService projectService;
+    
+    private ProjectRepository projectRepository;
+    
+    private List<Long> fixtureIds;
+    
+    private String fixtureCursor;
+    
+    private Long updatedId;
+    
+    private long patchedVersion;
+    
+    private int sequence;
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments so they take precedence over application.yml
+                .run("--spring.cache.type=none",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.flywaydb=WARN");
+        projectService = context.getBean(ProjectService.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        
+        List<ProjectCreateDto> fixtures = IntStream.range(0, FIXTURES).mapToObj(BenchmarkData::createDto).toList();
+        fixtureIds = projectService.createProjects(fixtures).stream().map(Project::getId).toList();
+        fixtureCursor = ProjectCursor.encode(fixtureIds.get(0) - 1);
+        updatedId = fixtureIds.get(1);
+        patchedVersion = projectService.getProjectById(fixtureIds.get(2)).getVersion();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        projectRepository.deleteAllByIdInBatch(fixtureIds);
+        context.close();
+    }
+    
+    @Benchmark
+    public ProjectPage listFirstPage() {
+        return projectService.getAllProjects(ProjectFilter.NONE, null, null);
+    }
+    
+    @Benchmark
+    public ProjectPage listPageAtCursor() {
+        return projectService.getAllProjects(ProjectFilter.NONE, fixtureCursor, null);
+    }
+    
+    @Benchmark
+    public ProjectFieldsPage listIdAndNameAtCursor() {
+        return projectService.getProjectFields(ProjectFilter.NONE, fixtureCursor, null, LIST_FIELDS);
+    }
+    
+    @Benchmark
+    public String pageETagAtCursor() {
+        return projectService.getProjectsETag(ProjectFilter.NONE, fixtureCursor, null);
+    }
+    
+    @Benchmark
+    public ProjectPage search() {
+        return projectService.searchProjects("benchmark customer portal", null, null);
+    }
+    
+    @Benchmark
+    public Project getById() {
+        return projectService.getProjectById(updatedId);
+    }
+    
+    @Benchmark
+    public void createAndDelete() {
+        Project created = projectService.createProject(BenchmarkData.createDto(FIXTURES + sequence++));
+        projectService.deleteProject(created.getId());
+    }
+    
+    @Benchmark
+    public Project update() {
+        ProjectCreateDto dto = BenchmarkData.createDto(sequence++);
+        return projectService.updateProject(updatedId,
+                new ProjectUpdateDto(dto.name(), dto.description(), dto.startDate(), dto.endDate()), null);
+    }
+    
+    @Benchmark
+    public long patch() {
+        patchedVersion = projectService.patchProject(fixtureIds.get(2),
+                new ProjectPatchDto("Patched " + sequence++, null, null, null), patchedVersion);
+        return patchedVersion;
+    }
+}
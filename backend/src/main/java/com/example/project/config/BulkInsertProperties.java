@@ -0,0 +1,14 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the bulk create path.
+ * {@code batchSize} should match {@code hibernate.jdbc.batch_size} so each flush sends one JDBC batch.
+ */
+@ConfigurationProperties(prefix = "app.bulk-insert")
+public record BulkInsertProperties(
+    @DefaultValue("50") int batchSize,
+    @DefaultValue("1000") int maxItems
+) {}
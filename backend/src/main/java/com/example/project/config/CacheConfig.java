@@ -0,0 +1,55 @@
+package com.example.project.config;
+
+import com.example.project.service.DatabaseConcurrencyLimiter;
+import com.example.project.service.RequestCoalescer;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables the in-process project cache. The cache itself (Caffeine, size and TTL bounds)
+ * is configured under {@code spring.cache} and its statistics are published as {@code cache.*} metrics.
+ * Caching wraps the {@link RequestCoalescer} and the {@link DatabaseConcurrencyLimiter} so that cache hits
+ * never wait for a database permit, and concurrent misses for one key share a single load.
+ * <p>
+ * The cache manager is Boot's Caffeine one, except that the {@code projects} cache is a {@link ProjectCache}.
+ * With {@code spring.cache.type} set to anything else, Boot configures caching as usual.
+ */
+@Configuration
+@EnableCaching(order = RequestCoalescer.ORDER - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    
+    public static final String PROJECTS_CACHE = "projects";
+    
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine")
+    public ProjectCacheManager cacheManager(CacheProperties cacheProperties) {
+        ProjectCacheManager cacheManager = new ProjectCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+    
+    /**
+     * A Caffeine cache manager whose {@code projects} cache is a {@link ProjectCache}.
+     */
+    public static class ProjectCacheManager extends CaffeineCacheManager {
+        
+        @Override
+        protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+            return PROJECTS_CACHE.equals(name)
+                    ? new ProjectCache(name, cache, isAllowNullValues())
+                    : super.adaptCaffeineCache(name, cache);
+        }
+    }
+}
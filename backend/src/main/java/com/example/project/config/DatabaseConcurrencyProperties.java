@@ -0,0 +1,21 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the limiter in front of database-bound service calls.
+ * {@code maxConcurrent} should match the Hikari {@code maximum-pool-size} so a permit stands for a connection;
+ * each read replica pool, which copies the primary's pool settings, adds as many permits for routed reads.
+ * {@code maxBulk} of them are held back for streaming and bulk calls and must be fewer than {@code maxConcurrent}.
+ * Callers beyond {@code maxWaiting}, or still waiting after {@code acquireTimeout}, are turned away with 503.
+ */
+@ConfigurationProperties(prefix = "app.db-concurrency")
+public record DatabaseConcurrencyProperties(
+    @DefaultValue("10") int maxConcurrent,
+    @DefaultValue("1000") int maxWaiting,
+    @DefaultValue("5s") Duration acquireTimeout,
+    @DefaultValue("2") int maxBulk
+) {}
@@ -0,0 +1,24 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for group commit of {@code POST /api/projects}. When enabled, creations are inserted together,
+ * up to {@code maxBatchSize} per transaction, once a group is full or its oldest request has waited
+ * {@code maxDelay}. At most {@code queueCapacity} requests wait to be written; further callers wait up to
+ * {@code enqueueTimeout} for room before they are turned away. A group's transaction times out after
+ * {@code transactionTimeoutSeconds}, whole seconds as {@code @Transactional} takes them.
+ * {@code maxBatchSize} may not exceed {@code app.bulk-insert.max-items}.
+ */
+@ConfigurationProperties(prefix = "app.group-commit")
+public record GroupCommitProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("50") int maxBatchSize,
+    @DefaultValue("5ms") Duration maxDelay,
+    @DefaultValue("5000") int queueCapacity,
+    @DefaultValue("1s") Duration enqueueTimeout,
+    @DefaultValue("10") int transactionTimeoutSeconds
+) {}
@@ -0,0 +1,91 @@
+package com.example.project.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Logback turbo filter that lets each configured logger (or any logger below it) write at most
+ * {@code maxPerSecond} INFO-or-lower events per second and drops the rest before they are formatted.
+ * WARN and ERROR always pass. Configured in {@code logback-spring.xml}:
+ * <pre>
+ * &lt;turboFilter class="com.example.project.config.LogSamplingFilter"&gt;
+ *     &lt;logger&gt;com.example.project.service&lt;/logger&gt;
+ *     &lt;maxPerSecond&gt;20&lt;/maxPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogSamplingFilter extends TurboFilter {
+    
+    private final List<String> loggers = new ArrayList<>();
+    
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    
+    private int maxPerSecond = 100;
+    
+    private LongSupplier clock = System::currentTimeMillis;
+    
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+    
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+    
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+    
+    @Override
+    public void start() {
+        if (maxPerSecond < 0) {
+            addError("maxPerSecond must not be negative");
+            return;
+        }
+        super.start();
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks arrive without a format and must not use up the budget
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.tryAcquire(clock.getAsLong() / 1000, maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    private boolean isSampled(String name) {
+        for (String prefix : loggers) {
+            if (name.equals(prefix) || name.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class Window {
+        
+        private long second;
+        
+        private int count;
+        
+        synchronized boolean tryAcquire(long now, int max) {
+            if (now != second) {
+                second = now;
+                count = 0;
+            }
+            return ++count <= max;
+        }
+    }
+}
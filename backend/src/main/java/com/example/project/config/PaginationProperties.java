@@ -0,0 +1,25 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page size settings for cursor-paginated listings.
+ * The maximum is enforced server-side regardless of what the client requests.
+ */
+@ConfigurationProperties(prefix = "app.pagination")
+public record PaginationProperties(
+    @DefaultValue("50") int defaultLimit,
+    @DefaultValue("200") int maxLimit
+) {
+
+    public int resolveLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return defaultLimit;
+        }
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        return Math.min(requestedLimit, maxLimit);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.project.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the read-only transactions of a service method or class on the primary when read replicas are
+ * configured. For reads that must see the primary's current state, such as positions handed to clients
+ * that later reads continue from; a lagging replica would let those jump past changes it has not applied.
+ * <p>
+ * Applies to transactions started inside the annotated method. A method that joins a transaction
+ * already running on a replica stays there. See {@link ReadReplicaDataSource}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrimaryOnly {
+}
@@ -0,0 +1,45 @@
+package com.example.project.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread while a {@link PrimaryOnly} method runs, so that {@link ReadReplicaDataSource}
+ * serves its read-only connections from the primary.
+ */
+@Aspect
+@Component
+@Order(PrimaryOnlyRouting.ORDER)
+public class PrimaryOnlyRouting {
+    
+    /**
+     * Outside the transaction advisor, so the mark is set before a connection is taken.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    
+    @Around("@within(com.example.project.config.PrimaryOnly) || @annotation(com.example.project.config.PrimaryOnly)")
+    public Object route(ProceedingJoinPoint call) throws Throwable {
+        if (PRIMARY_ONLY.get() != null) {
+            return call.proceed();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return call.proceed();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+    
+    /**
+     * Whether the current thread is inside a {@link PrimaryOnly} method.
+     */
+    public static boolean isActive() {
+        return PRIMARY_ONLY.get() != null;
+    }
+}
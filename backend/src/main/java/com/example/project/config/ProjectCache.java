@@ -0,0 +1,65 @@
+package com.example.project.config;
+
+import com.example.project.entity.Project;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * The {@code projects} cache, in which a project is only ever replaced by a newer version of itself. Without
+ * that, a load that read a project before a write committed, and finished after the write updated the cache,
+ * would put the old version back and have it served, with its old ETag, until the entry expires.
+ * <p>
+ * Writes that do not return the new project, patches and deletes, {@link #supersede} its entry instead: the
+ * version they committed takes the project's place, reads of it miss, and a load only fills it again with
+ * that version or a newer one. Deleted projects are superseded for good, since ids are never reused.
+ * <p>
+ * Projects are stored and handed out as copies, so a caller changing the project it got neither changes
+ * the cached one nor what other callers get.
+ */
+public class ProjectCache extends CaffeineCache {
+
+    public ProjectCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value instanceof Project project) {
+            return project.copy();
+        }
+        return value instanceof Superseded ? null : value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof Project project) {
+            Project copy = project.copy();
+            getNativeCache().asMap().compute(key, (k, cached) ->
+                    project.getVersion() != null && versionOf(cached) > project.getVersion() ? cached : copy);
+        } else {
+            super.put(key, value);
+        }
+    }
+
+    /**
+     * Records that {@code version} of the project has been committed, unless a project at least that
+     * recent is cached already. {@code Long.MAX_VALUE} marks a deleted project.
+     */
+    public void supersede(Object key, long version) {
+        getNativeCache().asMap().compute(key,
+                (k, cached) -> versionOf(cached) >= version ? cached : new Superseded(version));
+    }
+
+    private static long versionOf(Object cached) {
+        if (cached instanceof Superseded superseded) {
+            return superseded.version();
+        }
+        if (cached instanceof Project project && project.getVersion() != null) {
+            return project.getVersion();
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private record Superseded(long version) {}
+}
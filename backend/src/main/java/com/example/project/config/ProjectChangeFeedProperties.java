@@ -0,0 +1,20 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the project change feed ({@code GET /api/projects/stream}).
+ * Each subscriber buffers at most {@code queueCapacity} events; a subscriber that falls further behind
+ * loses its backlog and is told to resync instead. Streams end after {@code timeout}, and clients reconnect.
+ */
+@ConfigurationProperties(prefix = "app.change-feed")
+public record ProjectChangeFeedProperties(
+    @DefaultValue("1000") int maxSubscribers,
+    @DefaultValue("256") int queueCapacity,
+    @DefaultValue("30s") Duration heartbeat,
+    @DefaultValue("30m") Duration timeout,
+    @DefaultValue("5s") Duration reconnectDelay
+) {}
@@ -0,0 +1,13 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for looking up projects by id in one request ({@code /api/projects/lookup}).
+ * {@code maxIds} bounds the array sent to the database and the size of the response.
+ */
+@ConfigurationProperties(prefix = "app.lookup")
+public record ProjectLookupProperties(
+    @DefaultValue("500") int maxIds
+) {}
@@ -0,0 +1,17 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for schedule statistics ({@code GET /api/projects/stats}).
+ * The pre-aggregated view is refreshed at most every {@code refreshInterval}, and only after projects changed.
+ * A request covers at most {@code maxMonths} months.
+ */
+@ConfigurationProperties(prefix = "app.stats")
+public record ProjectStatsProperties(
+    @DefaultValue("10s") Duration refreshInterval,
+    @DefaultValue("120") int maxMonths
+) {}
@@ -0,0 +1,17 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for delta sync ({@code GET /api/projects/changes}).
+ * Tombstones of deleted projects are kept for {@code tombstoneRetention}; clients that have not synced for
+ * longer must start over. Expired tombstones are pruned every {@code pruneInterval}.
+ */
+@ConfigurationProperties(prefix = "app.sync")
+public record ProjectSyncProperties(
+    @DefaultValue("30d") Duration tombstoneRetention,
+    @DefaultValue("1h") Duration pruneInterval
+) {}
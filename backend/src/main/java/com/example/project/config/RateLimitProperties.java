@@ -0,0 +1,31 @@
+package com.example.project.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Map;
+
+/**
+ * Per-client token buckets in front of {@code /api/projects}. Every client may spend up to {@code capacity}
+ * tokens at once, and gets {@code refillPerSecond} back every second; requests cost what their endpoint is
+ * annotated with. Clients are told apart by their authenticated principal, then by an API key sent in
+ * {@code apiKeyHeader} that matches one of {@code apiKeys} (client name to key), otherwise by address.
+ * At most {@code maxClients} buckets are kept; idle ones are dropped once they would have refilled anyway.
+ * <p>
+ * A token is refilled every {@code 1s / refillPerSecond}, counted in whole nanoseconds, so the refill rate is
+ * capped at one per nanosecond; the bounds also keep a full bucket's duration within a {@code long}.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("200") @Positive @Max(1_000_000_000) long capacity,
+    @DefaultValue("100") @Positive @Max(1_000_000_000) long refillPerSecond,
+    @DefaultValue("100000") @Positive long maxClients,
+    @DefaultValue("X-API-Key") @NotBlank String apiKeyHeader,
+    @DefaultValue Map<String, String> apiKeys
+) {}
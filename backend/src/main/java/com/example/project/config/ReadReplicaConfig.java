@@ -0,0 +1,51 @@
+package com.example.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReadReplicaDataSource} once
+ * {@code app.read-replicas.urls} lists at least one replica. Without replicas Boot's single pool is used as before.
+ * Replica pools publish the usual {@code hikaricp.*} metrics under the pool names {@code replica-1}, {@code replica-2}, ...
+ */
+@Configuration
+@ConditionalOnExpression("'${app.read-replicas.urls:}' != ''")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaDataSource dataSource(DataSourceProperties dataSourceProperties, ReadReplicaProperties replicaProperties,
+                                            ReplicaRouting routing, Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(dataSourceProperties, binder);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.urls()) {
+            HikariDataSource replica = pool(dataSourceProperties, binder);
+            replica.setJdbcUrl(url);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            // A replica that is down should cost a read little before it falls back to the primary
+            replica.setConnectionTimeout(replicaProperties.connectionTimeout().toMillis());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReadReplicaDataSource(primary, replicas, replicaProperties, routing);
+    }
+
+    // Same credentials and pool settings as the auto-configured pool would get
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+}
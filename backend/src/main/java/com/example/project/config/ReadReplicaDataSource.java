@@ -0,0 +1,196 @@
+package com.example.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to streaming replicas and everything else to the primary.
+ * Connections are fetched lazily, at the first statement, by which point Spring has marked the
+ * connection read-only for {@code @Transactional(readOnly = true)}; writes and non-transactional
+ * work (Flyway, health checks) never leave the primary.
+ * <p>
+ * Which read-only work stays on the primary is decided by {@link ReplicaRouting}, the same decision the
+ * concurrency limiter sized its permit on: within {@code readYourWritesWindow} of a committed write (per
+ * instance, not per client), and in {@link PrimaryOnly} methods, which must be consistent with the primary
+ * because replicas lag. A replica that refuses a connection is skipped for that read in favour of the primary,
+ * after telling {@link ReplicaRouting}, and for later reads until a background check gets a valid connection
+ * from it again; while every replica is down, reads go straight to the primary without waiting for a timeout.
+ * Closing this data source closes every pool it owns.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+
+    private final List<HikariDataSource> replicas;
+
+    private final ReadReplicaProperties.Balancing balancing;
+
+    private final ReplicaRouting routing;
+
+    private final Duration healthCheckInterval;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Set<HikariDataSource> unhealthy = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    public ReadReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas, ReadReplicaProperties properties,
+                                 ReplicaRouting routing) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = properties.balancing();
+        this.routing = routing;
+        this.healthCheckInterval = properties.healthCheckInterval();
+        setTargetDataSource(new PrimaryDataSource());
+        setReadOnlyDataSource(new ReplicaDataSource());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    /**
+     * The replica to read from, or null when none is healthy.
+     */
+    HikariDataSource chooseReplica() {
+        List<HikariDataSource> candidates = unhealthy.isEmpty()
+                ? replicas
+                : replicas.stream().filter(replica -> !unhealthy.contains(replica)).toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return switch (balancing) {
+            case ROUND_ROBIN -> candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+            case LEAST_CONNECTIONS -> candidates.stream()
+                    .min(Comparator.comparingInt(ReadReplicaDataSource::activeConnections))
+                    .orElseThrow();
+        };
+    }
+
+    private void markUnhealthy(HikariDataSource replica) {
+        if (unhealthy.add(replica)) {
+            Thread.ofVirtual().name("replica-health-" + replica.getPoolName()).start(() -> awaitHealthy(replica));
+        }
+    }
+
+    // Puts the replica back in rotation once it hands out a valid connection again
+    private void awaitHealthy(HikariDataSource replica) {
+        while (!closed) {
+            try {
+                Thread.sleep(healthCheckInterval);
+                try (Connection connection = replica.getConnection()) {
+                    if (connection.isValid((int) Math.max(1, healthCheckInterval.toSeconds()))) {
+                        unhealthy.remove(replica);
+                        log.info("Replica {} is available again", replica.getPoolName());
+                        return;
+                    }
+                }
+            } catch (SQLException ex) {
+                log.debug("Replica {} is still unavailable: {}", replica.getPoolName(), ex.getMessage());
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private static int activeConnections(HikariDataSource pool) {
+        // The pool MXBean only exists once the pool has handed out its first connection
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : mxBean.getActiveConnections();
+    }
+
+    /**
+     * The primary, as seen by read-write work. Remembers when a read-write transaction that used it commits.
+     */
+    private class PrimaryDataSource extends DelegatingDataSource {
+
+        PrimaryDataSource() {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (routing.readsYourWritesOnPrimary() && TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        routing.recordWrite();
+                    }
+                });
+            }
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * Connections for read-only transactions. Explicit credentials are passed on to whichever pool serves
+     * the read, as {@link PrimaryDataSource} passes them to the primary.
+     */
+    private class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connect(HikariDataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connect(pool -> pool.getConnection(username, password));
+        }
+
+        private Connection connect(PoolConnection connect) throws SQLException {
+            if (routing.readFromReplica()) {
+                HikariDataSource replica = chooseReplica();
+                if (replica == null) {
+                    routing.fallBackToPrimary();
+                } else {
+                    try {
+                        return connect.from(replica);
+                    } catch (SQLFeatureNotSupportedException ex) {
+                        // Not the replica's fault: the primary would refuse the same request
+                        throw ex;
+                    } catch (SQLException ex) {
+                        log.warn("Replica {} is unavailable, reading from the primary until it recovers: {}",
+                                replica.getPoolName(), ex.getMessage());
+                        markUnhealthy(replica);
+                        routing.fallBackToPrimary();
+                    }
+                }
+            }
+            Connection connection = connect.from(primary);
+            connection.setReadOnly(true);
+            return connection;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PoolConnection {
+
+        Connection from(HikariDataSource pool) throws SQLException;
+    }
+}
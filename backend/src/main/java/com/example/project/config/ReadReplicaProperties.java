@@ -0,0 +1,29 @@
+package com.example.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streaming replicas that serve read-only transactions. Routing is off while {@code urls} is empty.
+ * Replica pools reuse the primary's credentials and {@code spring.datasource.hikari} settings.
+ * After a write commits, reads stay on the primary for {@code readYourWritesWindow} (off at zero).
+ * Replica pools give up on a connection after {@code connectionTimeout}, well before the primary's pool would;
+ * a replica that fails is skipped until a connection to it, tried every {@code healthCheckInterval}, succeeds.
+ */
+@ConfigurationProperties(prefix = "app.read-replicas")
+public record ReadReplicaProperties(
+    @DefaultValue List<String> urls,
+    @DefaultValue("round-robin") Balancing balancing,
+    @DefaultValue("0s") Duration readYourWritesWindow,
+    @DefaultValue("1s") Duration connectionTimeout,
+    @DefaultValue("5s") Duration healthCheckInterval
+) {
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
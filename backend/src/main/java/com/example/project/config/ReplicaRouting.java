@@ -0,0 +1,106 @@
+package com.example.project.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a read-only transaction is served by a replica or by the primary. The decision is shared
+ * by {@code DatabaseConcurrencyLimiter}, which takes the permit, and {@link ReadReplicaDataSource}, which
+ * takes the connection: the limiter pins the route of its call on the current thread before the transaction
+ * starts, and the data source follows it. A read counted against the replica budget therefore uses a replica,
+ * and a read sent to the primary holds a primary permit.
+ * <p>
+ * Reads stay on the primary within {@code readYourWritesWindow} of a committed write, and inside
+ * {@link PrimaryOnly} methods. When the data source has to fall back to the primary after all, because a
+ * replica refused a connection, it reports it here and the limiter trades its replica permit for a primary one.
+ */
+@Component
+public class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_REPLICA = new ThreadLocal<>();
+
+    private final boolean enabled;
+
+    private final long readYourWritesNanos;
+
+    private final LongSupplier nanoClock;
+
+    private volatile long lastWriteNanos;
+
+    private volatile Runnable primaryFallback = () -> { };
+
+    @Autowired
+    public ReplicaRouting(ReadReplicaProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ReplicaRouting(ReadReplicaProperties properties, LongSupplier nanoClock) {
+        this.enabled = !properties.urls().isEmpty();
+        this.readYourWritesNanos = properties.readYourWritesWindow().toNanos();
+        this.nanoClock = nanoClock;
+        this.lastWriteNanos = nanoClock.getAsLong() - readYourWritesNanos;
+    }
+
+    /**
+     * Fixes the route of the current thread's reads until {@link #unpin()}, and returns it: a replica if
+     * {@code mayUseReplica} and none of the reasons to stay on the primary applies right now.
+     */
+    public boolean pin(boolean mayUseReplica) {
+        boolean replica = mayUseReplica && replicaAvailable();
+        PINNED_TO_REPLICA.set(replica);
+        return replica;
+    }
+
+    public void unpin() {
+        PINNED_TO_REPLICA.remove();
+    }
+
+    /**
+     * Called with the thread that falls back to the primary while pinned to a replica, before it takes a
+     * primary connection. May throw to refuse the fallback.
+     */
+    public void onPrimaryFallback(Runnable primaryFallback) {
+        this.primaryFallback = primaryFallback;
+    }
+
+    /**
+     * Whether the read-only connection being taken now should come from a replica. Unpinned work, which
+     * did not go through the limiter, is routed as it would have been pinned.
+     */
+    boolean readFromReplica() {
+        Boolean pinned = PINNED_TO_REPLICA.get();
+        if (pinned == null) {
+            return !PrimaryOnlyRouting.isActive() && replicaAvailable();
+        }
+        if (pinned && PrimaryOnlyRouting.isActive()) {
+            // A primary-only method called from a replica read
+            fallBackToPrimary();
+            return false;
+        }
+        return pinned;
+    }
+
+    /**
+     * The current thread reads from the primary although it was pinned to a replica.
+     */
+    void fallBackToPrimary() {
+        if (Boolean.TRUE.equals(PINNED_TO_REPLICA.get())) {
+            primaryFallback.run();
+            PINNED_TO_REPLICA.set(false);
+        }
+    }
+
+    void recordWrite() {
+        lastWriteNanos = nanoClock.getAsLong();
+    }
+
+    boolean readsYourWritesOnPrimary() {
+        return readYourWritesNanos > 0;
+    }
+
+    private boolean replicaAvailable() {
+        return enabled && nanoClock.getAsLong() - lastWriteNanos >= readYourWritesNanos;
+    }
+}
@@ -1,12 +1,38 @@
 package com.example.project.controller;
 
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.dto.ProjectChangesDto;
 import com.example.project.dto.ProjectCreateDto;
 import com.example.project.dto.ProjectDto;
+import com.example.project.dto.ProjectImportResultDto;
+import com.example.project.dto.ProjectLookupDto;
+import com.example.project.dto.ProjectPatchDto;
+import com.example.project.dto.ProjectStatsDto;
 import com.example.project.dto.ProjectUpdateDto;
 import com.example.project.dto.ProblemDetailDto;
 import com.example.project.entity.Project;
+import com.example.project.exception.PreconditionRequiredException;
+import com.example.project.exception.ProjectNotFoundException;
+import com.example.project.exception.ProjectVersionConflictException;
 import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectFilter;
+import com.example.project.service.ProjectChangeFeed;
+import com.example.project.service.ProjectETags;
+import com.example.project.service.ProjectField;
+import com.example.project.service.ProjectFieldsPage;
+import com.example.project.service.ProjectGroupCommitter;
+import com.example.project.service.ProjectImportService;
+import com.example.project.service.ProjectLookup;
+import com.example.project.service.ProjectPage;
 import com.example.project.service.ProjectService;
+import com.example.project.service.ProjectStatsService;
+import com.example.project.service.ProjectSyncService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,44 +43,315 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 
 @RestController
+@Timed("app.controller")
 @RequestMapping("/api/projects")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {ProjectController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @Tag(name = "Projects", description = "Project management API endpoints")
 @Slf4j
 public class ProjectController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     @Autowired
     private ProjectService projectService;
     
+    @Autowired
+    private ProjectImportService projectImportService;
+    
+    @Autowired
+    private ProjectChangeFeed projectChangeFeed;
+    
+    @Autowired
+    private ProjectSyncService projectSyncService;
+    
+    @Autowired
+    private ProjectStatsService projectStatsService;
+    
+    // Present only with app.group-commit.enabled
+    @Autowired(required = false)
+    private ProjectGroupCommitter projectGroupCommitter;
+    
     @Autowired
     private ProjectMapper projectMapper;
     
-    @Operation(summary = "Get all projects", description = "Retrieve a list of all projects")
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+    
+    @Operation(summary = "Get all projects", 
+        description = "Retrieve one page of projects ordered by ID, optionally filtered by schedule. " +
+                      "When more projects exist, the " + NEXT_CURSOR_HEADER + " response header holds the cursor " +
+                      "for the next page; send the same filters with it. Use fields to select only some project fields. " +
+                      "Supports conditional requests with If-None-Match.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved projects",
             content = @Content(mediaType = "application/json", 
-                schema = @Schema(implementation = ProjectDto.class)))
+                schema = @Schema(implementation = ProjectDto.class))),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match",
+            content = @Content),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit, date filter or field",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
     })
+    @RequestCost(10)
     @GetMapping
-    public List<ProjectDto> getAllProjects() {
-        log.debug("API: GET /api/projects - retrieving all projects");
-        List<ProjectDto> projects = projectService.getAllProjects().stream()
+    public ResponseEntity<List<?>> getAllProjects(
+            @Parameter(description = "Cursor from the " + NEXT_CURSOR_HEADER + " header of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of projects to return, capped by the server", example = "50")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Only projects still running on or after this date", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate activeFrom,
+            @Parameter(description = "Only projects already started on or before this date", example = "2025-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate activeTo,
+            @Parameter(description = "Only projects starting after this date", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startsAfter,
+            @Parameter(description = "Only projects ending before this date", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endsBefore,
+            @Parameter(description = "Comma-separated project fields to return; id is always included", example = "id,name")
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        log.debug("API: GET /api/projects - retrieving projects after: {}, limit: {}", after, limit);
+        ProjectFilter filter = new ProjectFilter(activeFrom, activeTo, startsAfter, endsBefore);
+        Set<ProjectField> selectedFields = ProjectField.parse(fields);
+        // Polling clients are answered from ids and versions alone while nothing changed
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ProjectETags.forFields(projectService.getProjectsETag(filter, after, limit), selectedFields))) {
+            return null;
+        }
+        
+        if (selectedFields != null) {
+            ProjectFieldsPage page = projectService.getProjectFields(filter, after, limit, selectedFields);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(page.eTag());
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.projects());
+        }
+        
+        ProjectPage page = projectService.getAllProjects(filter, after, limit);
+        List<ProjectDto> projects = page.projects().stream()
                 .map(projectMapper::projectToProjectDto)
                 .toList();
-        return projects;
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ProjectETags.of(page));
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(projects);
+    }
+    
+    @Operation(summary = "Search projects", 
+        description = "Full-text search over project name and description, most relevant first. " +
+                      "Accepts web-search syntax (quoted phrases, OR, -exclusion). Paginated like the project list " +
+                      "and accepts the same fields selection.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching projects",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectDto.class))),
+        @ApiResponse(responseCode = "400", description = "Missing query, invalid cursor, limit or field",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(10)
+    @GetMapping("/search")
+    public ResponseEntity<List<?>> searchProjects(
+            @Parameter(description = "Search query", required = true, example = "mobile app")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Cursor from the " + NEXT_CURSOR_HEADER + " header of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of projects to return, capped by the server", example = "50")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Comma-separated project fields to return; id is always included", example = "id,name")
+            @RequestParam(required = false) String fields) {
+        log.debug("API: GET /api/projects/search - searching for: {}", q);
+        Set<ProjectField> selectedFields = ProjectField.parse(fields);
+        if (selectedFields != null) {
+            ProjectFieldsPage page = projectService.searchProjectFields(q, after, limit, selectedFields);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.projects());
+        }
+        
+        ProjectPage page = projectService.searchProjects(q, after, limit);
+        List<ProjectDto> projects = page.projects().stream()
+                .map(projectMapper::projectToProjectDto)
+                .toList();
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(projects);
+    }
+    
+    @Operation(summary = "Export all projects", 
+        description = "Stream every project as newline-delimited JSON (format=ndjson) or as a single JSON array (format=json)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Projects streamed successfully",
+            content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProjectDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectDto.class))
+            }),
+        @ApiResponse(responseCode = "400", description = "Unsupported export format",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(100)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @Parameter(description = "Output format: ndjson or json", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("API: GET /api/projects/export - exporting projects as {}", format);
+        boolean ndjson = switch (format) {
+            case "ndjson" -> true;
+            case "json" -> false;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+        
+        ObjectWriter writer = objectMapper.writerFor(ProjectDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequence = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(outputStream)
+                    : writer.writeValuesAsArray(outputStream)) {
+                projectService.exportProjects(project -> {
+                    try {
+                        sequence.write(projectMapper.projectToProjectDto(project));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    @Operation(summary = "Stream project changes", 
+        description = "Server-Sent Events stream of changes made through any node, in commit order. " +
+                      "created, updated and deleted events carry the project id and version, and for created and " +
+                      "updated the project itself. A resync event means changes were missed: fetch the list again. " +
+                      "Open the stream before fetching the list so that no change falls in between.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened",
+            content = @Content(mediaType = "text/event-stream", 
+                schema = @Schema(implementation = ProjectChangeDto.class))),
+        @ApiResponse(responseCode = "503", description = "Too many open streams",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProjectChanges() {
+        log.debug("API: GET /api/projects/stream - opening change stream");
+        return projectChangeFeed.subscribe();
     }
     
-    @Operation(summary = "Get project by ID", description = "Retrieve a specific project by its ID")
+    @Operation(summary = "Get project changes", 
+        description = "Delta sync. Without since, returns every project; with the syncToken of the previous response, " +
+                      "only projects created, updated or deleted since. Follow syncToken while hasMore is true, then keep " +
+                      "the last one for the next sync. A change may be returned again; apply changes by id and version. " +
+                      "410 means the token predates the retained deletions: sync again without since.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectChangesDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sync token",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "410", description = "Sync token expired",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(10)
+    @GetMapping("/changes")
+    public ProjectChangesDto getProjectChanges(
+            @Parameter(description = "syncToken of the previous response; omit for a full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return, capped by the server", example = "50")
+            @RequestParam(required = false) Integer limit) {
+        log.debug("API: GET /api/projects/changes - reading changes since {}", since);
+        return projectSyncService.getChanges(since, limit);
+    }
+    
+    @Operation(summary = "Get project statistics", 
+        description = "Total projects, average duration, projects ending this week and projects active per month, " +
+                      "pre-aggregated and refreshed shortly after projects change. refreshedAt tells how current they are.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectStatsDto.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid month range",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(2)
+    @GetMapping("/stats")
+    public ProjectStatsDto getProjectStats(
+            @Parameter(description = "First month of activePerMonth; defaults to the current month", example = "2025-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month of activePerMonth; defaults to 11 months after from", example = "2025-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        log.debug("API: GET /api/projects/stats - reading stats from {} to {}", from, to);
+        return projectStatsService.getStats(from, to);
+    }
+    
+    @Operation(summary = "Look up projects by ID", 
+        description = "Fetch many projects in one request and one database query. Ids with no project are listed " +
+                      "in missingIds instead of failing the request. For long id lists, use POST /api/projects/lookup.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lookup completed",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectLookupDto.class))),
+        @ApiResponse(responseCode = "400", description = "No ids, or more than the server allows",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(10)
+    @GetMapping("/lookup")
+    public ProjectLookupDto lookupProjects(
+            @Parameter(description = "Comma-separated project IDs", required = true, example = "1,2,3")
+            @RequestParam(required = false) List<Long> ids) {
+        log.debug("API: GET /api/projects/lookup - looking up {} projects", ids == null ? 0 : ids.size());
+        return toLookupDto(projectService.getProjectsByIds(ids));
+    }
+    
+    @Operation(summary = "Get project by ID", 
+        description = "Retrieve a specific project by its ID. Supports conditional requests with If-None-Match.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Project found",
             content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = ProjectDto.class))),
+        @ApiResponse(responseCode = "304", description = "Project unchanged since the ETag in If-None-Match",
+            content = @Content),
         @ApiResponse(responseCode = "404", description = "Project not found",
             content = @Content(mediaType = "application/problem+json",
                 schema = @Schema(implementation = ProblemDetailDto.class))),
@@ -65,10 +362,15 @@ public class ProjectController {
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDto> getProjectById(
             @Parameter(description = "Project ID", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            NativeWebRequest request) {
         log.debug("API: GET /api/projects/{} - retrieving project", id);
         Project project = projectService.getProjectById(id);
-        return ResponseEntity.ok(projectMapper.projectToProjectDto(project));
+        String eTag = ProjectETags.of(project, representationOf(request));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(projectMapper.projectToProjectDto(project));
     }
     
     @Operation(summary = "Create new project", description = "Create a new project with the provided details")
@@ -83,16 +385,109 @@ public class ProjectController {
             content = @Content(mediaType = "application/problem+json",
                 schema = @Schema(implementation = ProblemDetailDto.class)))
     })
+    @RequestCost(2)
     @PostMapping
     public ProjectDto createProject(
             @Parameter(description = "Project creation data", required = true)
             @Valid @RequestBody ProjectCreateDto projectDto) {
         log.debug("API: POST /api/projects - creating project: {}", projectDto.name());
-        Project createdProject = projectService.createProject(projectDto);
+        Project createdProject = projectGroupCommitter != null
+                ? projectGroupCommitter.create(projectDto)
+                : projectService.createProject(projectDto);
         return projectMapper.projectToProjectDto(createdProject);
     }
     
-    @Operation(summary = "Update project", description = "Update an existing project with new details")
+    @Operation(summary = "Create projects in bulk", 
+        description = "Create many projects in a single transaction using batched inserts. " +
+                      "If any item is invalid nothing is created and the errors of every invalid item are returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Projects created successfully",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectDto.class))),
+        @ApiResponse(responseCode = "400", description = "Validation error - one or more items are invalid",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(20)
+    @PostMapping("/batch")
+    public List<ProjectDto> createProjects(
+            @Parameter(description = "Projects to create", required = true)
+            @RequestBody List<ProjectCreateDto> projectDtos) {
+        log.debug("API: POST /api/projects/batch - creating {} projects", projectDtos.size());
+        return projectService.createProjects(projectDtos).stream()
+                .map(projectMapper::projectToProjectDto)
+                .toList();
+    }
+    
+    @Operation(summary = "Look up projects by ID (POST)", 
+        description = "Same as GET /api/projects/lookup, with the ids as a JSON array in the body so that long lists " +
+                      "do not run into URL length limits.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lookup completed",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectLookupDto.class))),
+        @ApiResponse(responseCode = "400", description = "No ids, or more than the server allows",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(10)
+    @PostMapping("/lookup")
+    public ProjectLookupDto lookupProjectsByBody(
+            @Parameter(description = "Project IDs", required = true)
+            @RequestBody List<Long> ids) {
+        log.debug("API: POST /api/projects/lookup - looking up {} projects", ids.size());
+        return toLookupDto(projectService.getProjectsByIds(ids));
+    }
+    
+    // The project media type the message converters will pick for this request, for its strong ETag
+    private MediaType representationOf(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType representation : ProjectETags.REPRESENTATIONS) {
+                    if (accepted.isCompatibleWith(representation)) {
+                        return representation;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            // A malformed Accept header; the converters answer 406 for it
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+    
+    private ProjectLookupDto toLookupDto(ProjectLookup lookup) {
+        return new ProjectLookupDto(
+                lookup.projects().stream().map(projectMapper::projectToProjectDto).toList(),
+                lookup.missingIds());
+    }
+    
+    @Operation(summary = "Import projects from CSV", 
+        description = "Stream a CSV file (header row, then name,description,startDate,endDate) into the database " +
+                      "with PostgreSQL COPY. Rows that break the project validation rules are skipped and counted.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "CSV imported",
+            content = @Content(mediaType = "application/json", 
+                schema = @Schema(implementation = ProjectImportResultDto.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed CSV",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(100)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ProjectImportResultDto importProjects(InputStream csv) {
+        log.debug("API: POST /api/projects/import - importing projects from CSV");
+        return projectImportService.importCsv(csv);
+    }
+    
+    @Operation(summary = "Update project", 
+        description = "Update an existing project with new details. Send the project's ETag in If-Match " +
+                      "to make the update conditional on it being unchanged, or * to require only that it exists.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Project updated successfully",
             content = @Content(mediaType = "application/json", 
@@ -103,19 +498,85 @@ public class ProjectController {
         @ApiResponse(responseCode = "404", description = "Project not found",
             content = @Content(mediaType = "application/problem+json",
                 schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "409", description = "Project was modified concurrently",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current project version, or is * and the project does not exist",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error",
             content = @Content(mediaType = "application/problem+json",
                 schema = @Schema(implementation = ProblemDetailDto.class)))
     })
+    @RequestCost(2)
     @PutMapping("/{id}")
     public ResponseEntity<ProjectDto> updateProject(
             @Parameter(description = "Project ID", required = true, example = "1")
             @PathVariable Long id, 
+            @Parameter(description = "ETag of the version being replaced", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Project update data", required = true)
-            @Valid @RequestBody ProjectUpdateDto projectDto) {
+            @Valid @RequestBody ProjectUpdateDto projectDto,
+            NativeWebRequest request) {
         log.debug("API: PUT /api/projects/{} - updating project to: {}", id, projectDto.name());
-        Project updatedProject = projectService.updateProject(id, projectDto);
-        return ResponseEntity.ok(projectMapper.projectToProjectDto(updatedProject));
+        Long expectedVersion = ifMatch == null ? null : ProjectETags.versionOf(id, ifMatch);
+        Project updatedProject;
+        try {
+            updatedProject = projectService.updateProject(id, projectDto, expectedVersion);
+        } catch (ProjectNotFoundException ex) {
+            // If-Match: * matches any current version, and a missing project has none
+            throw ifMatch != null && expectedVersion == null ? new ProjectVersionConflictException(id) : ex;
+        }
+        return ResponseEntity.ok()
+                .eTag(ProjectETags.of(updatedProject, representationOf(request)))
+                .body(projectMapper.projectToProjectDto(updatedProject));
+    }
+    
+    @Operation(summary = "Partially update project", 
+        description = "Change only the given fields with a single conditional UPDATE. " +
+                      "If-Match with the project's current ETag, or * for any version, is required; the new ETag is returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Project updated successfully",
+            content = @Content),
+        @ApiResponse(responseCode = "400", description = "Validation error - invalid input data",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "404", description = "Project not found",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current project version, or is * and the project does not exist",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "428", description = "If-Match header missing",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class))),
+        @ApiResponse(responseCode = "500", description = "Internal server error",
+            content = @Content(mediaType = "application/problem+json",
+                schema = @Schema(implementation = ProblemDetailDto.class)))
+    })
+    @RequestCost(2)
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchProject(
+            @Parameter(description = "Project ID", required = true, example = "1")
+            @PathVariable Long id, 
+            @Parameter(description = "ETag of the version being changed", required = true, example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Fields to change", required = true)
+            @Valid @RequestBody ProjectPatchDto patchDto,
+            NativeWebRequest request) {
+        log.debug("API: PATCH /api/projects/{} - patching project", id);
+        if (ifMatch == null) {
+            throw new PreconditionRequiredException("If-Match header with the project's ETag is required");
+        }
+        Long expectedVersion = ProjectETags.versionOf(id, ifMatch);
+        long newVersion;
+        try {
+            newVersion = projectService.patchProject(id, patchDto, expectedVersion);
+        } catch (ProjectNotFoundException ex) {
+            // If-Match: * matches any current version, and a missing project has none
+            throw expectedVersion == null ? new ProjectVersionConflictException(id) : ex;
+        }
+        return ResponseEntity.noContent().eTag(ProjectETags.of(id, newVersion, representationOf(request))).build();
     }
     
     @Operation(summary = "Delete project", description = "Delete a project by its ID")
@@ -129,6 +590,7 @@ public class ProjectController {
             content = @Content(mediaType = "application/problem+json",
                 schema = @Schema(implementation = ProblemDetailDto.class)))
     })
+    @RequestCost(2)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
             @Parameter(description = "Project ID", required = true, example = "1")
@@ -0,0 +1,140 @@
+package com.example.project.controller;
+
+import com.example.project.config.RateLimitProperties;
+import com.example.project.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Admits requests to {@code /api/projects} against a token bucket per client, before they reach the
+ * controller, so that one client cannot take the connection pool from everyone else. A request over
+ * budget fails at once with {@link RateLimitExceededException}, without touching the database.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} updated by compare-and-set: the time at which it will be
+ * full again (the generic cell rate algorithm). Requests of different clients share no lock, and buckets
+ * live in a Caffeine map, which stripes its own. Registered by {@code RateLimitConfig}.
+ * <p>
+ * Clients are keyed by the authenticated principal, then by a configured API key, and by address when
+ * there is neither. Behind a proxy the address is the one forwarded by it ({@code server.forward-headers-strategy}).
+ * An API key only picks the bucket when it matches one of {@code app.rate-limit.api-keys}; unknown keys are
+ * ignored, since a client could otherwise get a fresh budget, and a new map entry, with every request.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    
+    private final RateLimitProperties properties;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final LongSupplier nanoClock;
+    
+    private final long nanosPerToken;
+    
+    private final Cache<String, AtomicLong> buckets;
+    
+    private final Map<String, byte[]> apiKeys;
+    
+    private final Map<Method, Counter> throttled = new ConcurrentHashMap<>();
+    
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+    
+    RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / properties.refillPerSecond();
+        this.apiKeys = properties.apiKeys().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().getBytes(StandardCharsets.UTF_8)));
+        // A bucket idle for this long is full again, the same as a new one
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(Duration.ofNanos(properties.capacity() * nanosPerToken))
+                .build();
+        Gauge.builder("app.rate-limit.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a rate limit bucket")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RequestCost cost = handlerMethod.getMethodAnnotation(RequestCost.class);
+        long tokens = Math.min(cost == null ? 1 : cost.value(), properties.capacity());
+        long waitNanos = tryAcquire(buckets.get(clientKey(request), key -> new AtomicLong(Long.MIN_VALUE)), tokens);
+        if (waitNanos > 0) {
+            throttled.computeIfAbsent(handlerMethod.getMethod(), method -> Counter.builder("app.rate-limit.throttled")
+                    .description("Requests rejected because the client was over its rate limit")
+                    .tag("endpoint", method.getName())
+                    .register(meterRegistry))
+                    .increment();
+            throw new RateLimitExceededException("Too many requests; retry later", Duration.ofNanos(waitNanos));
+        }
+        return true;
+    }
+    
+    /**
+     * Takes {@code tokens} from the bucket if it holds them.
+     *
+     * @return 0 if taken, otherwise how many nanoseconds until it would hold them
+     */
+    private long tryAcquire(AtomicLong fullAt, long tokens) {
+        long now = nanoClock.getAsLong();
+        long burstNanos = properties.capacity() * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + tokens * nanosPerToken;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String apiKeyClient = apiKeyClient(request.getHeader(properties.apiKeyHeader()));
+        return apiKeyClient != null ? "api-key:" + apiKeyClient : "address:" + request.getRemoteAddr();
+    }
+    
+    // The client a configured key belongs to, compared in constant time; null for a missing or unknown key
+    private String apiKeyClient(String apiKey) {
+        if (apiKey == null) {
+            return null;
+        }
+        byte[] presented = apiKey.getBytes(StandardCharsets.UTF_8);
+        for (Map.Entry<String, byte[]> entry : apiKeys.entrySet()) {
+            if (MessageDigest.isEqual(presented, entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.project.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tokens a request to this endpoint takes from the client's rate limit bucket, in proportion to the
+ * database work it causes. Endpoints without it cost one token.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestCost {
+    
+    long value();
+}
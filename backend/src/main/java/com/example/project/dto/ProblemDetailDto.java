@@ -28,5 +28,8 @@ public record ProblemDetailDto(
     String timestamp,
     
     @Schema(description = "Field-specific validation errors (only present for validation errors)")
-    Map<String, String> fieldErrors
+    Map<String, String> fieldErrors,
+    
+    @Schema(description = "Field-specific validation errors keyed by item index (only present for batch validation errors)")
+    Map<Integer, Map<String, String>> itemErrors
 ) {}
@@ -0,0 +1,34 @@
+package com.example.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Change to a project, as pushed by the change feed")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProjectChangeDto(
+    @Schema(description = "Kind of change; resync means events were missed and the list should be fetched again",
+        allowableValues = {"created", "updated", "deleted", "resync"}, example = "updated")
+    String type,
+    
+    @Schema(description = "ID of the changed project", example = "1")
+    Long id,
+    
+    @Schema(description = "Project version after the change, as in its ETag", example = "3")
+    Long version,
+    
+    @Schema(description = "Project after the change; absent for deletions and very large projects")
+    ProjectDto project
+) {
+    
+    public static final String CREATED = "created";
+    
+    public static final String UPDATED = "updated";
+    
+    public static final String DELETED = "deleted";
+    
+    public static final String RESYNC = "resync";
+    
+    public static ProjectChangeDto resync() {
+        return new ProjectChangeDto(RESYNC, null, null, null);
+    }
+}
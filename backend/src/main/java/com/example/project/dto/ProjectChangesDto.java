@@ -0,0 +1,17 @@
+package com.example.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Changes since a sync token")
+public record ProjectChangesDto(
+    @Schema(description = "Changed projects and deleted ids, oldest change first")
+    List<ProjectChangeDto> changes,
+    
+    @Schema(description = "Token to send as since in the next request", example = "c3luYzoxOTI0NC8wLy9kZWx0YQ")
+    String syncToken,
+    
+    @Schema(description = "Whether more changes are waiting; if so, request again right away with syncToken", example = "false")
+    boolean hasMore
+) {}
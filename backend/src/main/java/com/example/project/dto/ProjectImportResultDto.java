@@ -0,0 +1,12 @@
+package com.example.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a CSV project import")
+public record ProjectImportResultDto(
+    @Schema(description = "Number of rows inserted into projects", example = "9950")
+    long accepted,
+    
+    @Schema(description = "Number of rows rejected by validation", example = "50")
+    long rejected
+) {}
@@ -0,0 +1,14 @@
+package com.example.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Projects looked up by id")
+public record ProjectLookupDto(
+    @Schema(description = "Projects found, in the order their ids were requested")
+    List<ProjectDto> projects,
+    
+    @Schema(description = "Requested ids with no project", example = "[42]")
+    List<Long> missingIds
+) {}
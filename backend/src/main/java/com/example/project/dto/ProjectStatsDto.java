@@ -0,0 +1,36 @@
+package com.example.project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Schema(description = "Schedule statistics over all projects, as of the last refresh")
+public record ProjectStatsDto(
+    @Schema(description = "Number of projects", example = "1250")
+    long totalProjects,
+    
+    @Schema(description = "Average days from start to end date; null without projects", example = "96.4")
+    Double averageDurationDays,
+    
+    @Schema(description = "Projects ending from Monday to Sunday of the current week", example = "12")
+    long endingThisWeek,
+    
+    @Schema(description = "Projects running at some point of each month in the requested range")
+    List<MonthActivity> activePerMonth,
+    
+    @Schema(description = "When the statistics were last refreshed; changes since then are not counted yet", 
+            example = "2025-01-15T10:30:00")
+    LocalDateTime refreshedAt
+) {
+    
+    @Schema(description = "Projects running at some point of a month")
+    public record MonthActivity(
+        @Schema(description = "Month", example = "2025-03", type = "string")
+        YearMonth month,
+        
+        @Schema(description = "Projects started on or before the month's last day and ending on or after its first", example = "87")
+        long activeProjects
+    ) {}
+}
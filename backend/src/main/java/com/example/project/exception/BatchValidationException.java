@@ -0,0 +1,21 @@
+package com.example.project.exception;
+
+import java.util.Map;
+
+/**
+ * Exception thrown when one or more items of a bulk request fail validation.
+ * Carries the field errors of every invalid item keyed by its position in the request.
+ */
+public class BatchValidationException extends RuntimeException {
+    
+    private final Map<Integer, Map<String, String>> itemErrors;
+    
+    public BatchValidationException(Map<Integer, Map<String, String>> itemErrors) {
+        super("Validation failed for " + itemErrors.size() + " item(s)");
+        this.itemErrors = itemErrors;
+    }
+    
+    public Map<Integer, Map<String, String>> getItemErrors() {
+        return itemErrors;
+    }
+}
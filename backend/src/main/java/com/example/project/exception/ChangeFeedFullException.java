@@ -0,0 +1,12 @@
+package com.example.project.exception;
+
+/**
+ * Exception thrown when the change feed already serves its maximum number of subscribers.
+ * Signals overload rather than failure, so clients may retry.
+ */
+public class ChangeFeedFullException extends RuntimeException {
+    
+    public ChangeFeedFullException(String message) {
+        super(message);
+    }
+}
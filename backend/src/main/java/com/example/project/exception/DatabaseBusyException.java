@@ -0,0 +1,12 @@
+package com.example.project.exception;
+
+/**
+ * Exception thrown when a request cannot get a database slot in time.
+ * Signals overload rather than failure, so clients may retry.
+ */
+public class DatabaseBusyException extends RuntimeException {
+    
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.project.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.net.URI;
 import java.time.LocalDateTime;
@@ -43,6 +46,142 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problem);
     }
     
+    @ExceptionHandler(ProjectVersionConflictException.class)
+    public ResponseEntity<ProblemDetail> handleProjectVersionConflict(
+            ProjectVersionConflictException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.PRECONDITION_FAILED, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/version-mismatch"));
+        problem.setTitle("Precondition Failed");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(problem);
+    }
+    
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<ProblemDetail> handlePreconditionRequired(
+            PreconditionRequiredException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.PRECONDITION_REQUIRED, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/precondition-required"));
+        problem.setTitle("Precondition Required");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body(problem);
+    }
+    
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT, 
+            "Project was modified concurrently, reload it and retry"
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/concurrent-modification"));
+        problem.setTitle("Concurrent Modification");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        log.warn("Optimistic locking failure: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+    
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ProblemDetail> handleDatabaseBusy(
+            DatabaseBusyException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/service-busy"));
+        problem.setTitle("Service Busy");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem);
+    }
+    
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRateLimitExceeded(
+            RateLimitExceededException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.TOO_MANY_REQUESTS, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/rate-limited"));
+        problem.setTitle("Too Many Requests");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        // Whole seconds, rounded up so that a client retrying on time is admitted
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(problem);
+    }
+    
+    @ExceptionHandler(ChangeFeedFullException.class)
+    public ResponseEntity<ProblemDetail> handleChangeFeedFull(
+            ChangeFeedFullException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/service-busy"));
+        problem.setTitle("Service Busy");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(problem);
+    }
+    
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ProblemDetail> handleSyncTokenExpired(
+            SyncTokenExpiredException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.GONE, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/sync-token-expired"));
+        problem.setTitle("Sync Token Expired");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.status(HttpStatus.GONE).body(problem);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ProblemDetail> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, 
@@ -67,6 +206,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(problem);
     }
     
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<ProblemDetail> handleBatchValidation(
+            BatchValidationException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.BAD_REQUEST, 
+            ex.getMessage()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/validation-error"));
+        problem.setTitle("Validation Error");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        problem.setProperty("itemErrors", ex.getItemErrors());
+        
+        return ResponseEntity.badRequest().body(problem);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ProblemDetail> handleIllegalArgument(
             IllegalArgumentException ex, 
@@ -85,6 +243,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(problem);
     }
     
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleMethodArgumentTypeMismatch(
+            MethodArgumentTypeMismatchException ex, 
+            WebRequest request) {
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.BAD_REQUEST, 
+            "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue()
+        );
+        
+        problem.setType(URI.create(PROBLEM_BASE_URI + "/invalid-argument"));
+        problem.setTitle("Invalid Argument");
+        problem.setProperty("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        problem.setProperty("path", request.getDescription(false).replace("uri=", ""));
+        
+        return ResponseEntity.badRequest().body(problem);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleGenericException(
             Exception ex, 
@@ -0,0 +1,11 @@
+package com.example.project.exception;
+
+/**
+ * Exception thrown when a write that must be conditional is sent without an If-Match header.
+ */
+public class PreconditionRequiredException extends RuntimeException {
+    
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.project.exception;
+
+/**
+ * Exception thrown when a conditional write names a project version that is no longer current.
+ */
+public class ProjectVersionConflictException extends RuntimeException {
+    
+    public ProjectVersionConflictException(Long id) {
+        super("Project with id: " + id + " has been modified since the given ETag was issued");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.project.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client has spent its request budget.
+ * {@code retryAfter} is how long until the request would be admitted.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
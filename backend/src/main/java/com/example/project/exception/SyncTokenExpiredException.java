@@ -0,0 +1,12 @@
+package com.example.project.exception;
+
+/**
+ * Exception thrown when a sync token predates tombstones that have since been pruned,
+ * so the deletions since then can no longer be listed.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
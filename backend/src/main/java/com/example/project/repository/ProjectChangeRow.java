@@ -0,0 +1,16 @@
+package com.example.project.repository;
+
+/**
+ * One project or tombstone in change order. {@code changeXid} is the writing transaction's id as text,
+ * as {@code xid8} has no JDBC type.
+ */
+public interface ProjectChangeRow {
+    
+    Long getId();
+    
+    Long getVersion();
+    
+    String getChangeXid();
+    
+    Boolean getDeleted();
+}
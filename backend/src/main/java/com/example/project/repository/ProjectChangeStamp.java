@@ -0,0 +1,7 @@
+package com.example.project.repository;
+
+/**
+ * Just enough of a project to tell whether it changed.
+ */
+public record ProjectChangeStamp(Long id, Long version) {
+}
@@ -0,0 +1,26 @@
+package com.example.project.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Optional schedule constraints on the project listing. Dates are inclusive and null fields are not applied.
+ *
+ * @param activeFrom  keep projects still running on or after this day
+ * @param activeTo    keep projects already started on or before this day
+ * @param startsAfter keep projects starting after this day
+ * @param endsBefore  keep projects ending before this day
+ */
+public record ProjectFilter(LocalDate activeFrom, LocalDate activeTo, LocalDate startsAfter, LocalDate endsBefore) {
+    
+    public static final ProjectFilter NONE = new ProjectFilter(null, null, null, null);
+    
+    public ProjectFilter {
+        if (activeFrom != null && activeTo != null && activeTo.isBefore(activeFrom)) {
+            throw new IllegalArgumentException("activeTo must not be before activeFrom");
+        }
+    }
+    
+    boolean hasActiveWindow() {
+        return activeFrom != null || activeTo != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.project.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projects starting and ending in one month, and the total duration in days of those ending.
+ */
+public interface ProjectMonthStats {
+    
+    LocalDate getMonth();
+    
+    Long getStarting();
+    
+    Long getEnding();
+    
+    Long getDurationDays();
+}
@@ -0,0 +1,34 @@
+package com.example.project.repository;
+
+import com.example.project.entity.Project;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keyset-paginated listing queries assembled from an optional {@link ProjectFilter}.
+ */
+public interface ProjectQueryRepository {
+    
+    /**
+     * Returns up to {@code limit} projects matching {@code filter} with an id above {@code afterId}, ordered by id.
+     */
+    List<Project> findPage(ProjectFilter filter, Long afterId, int limit);
+    
+    /**
+     * Same rows as {@link #findPage} but only their ids and versions.
+     */
+    List<ProjectChangeStamp> findChangeStamps(ProjectFilter filter, Long afterId, int limit);
+    
+    /**
+     * Same rows as {@link #findPage} but selecting only {@code id}, {@code version} and the given
+     * attributes, each aliased by its attribute name.
+     */
+    List<Tuple> findFields(ProjectFilter filter, Long afterId, int limit, Collection<String> attributes);
+    
+    /**
+     * Selects {@code id}, {@code version} and the given attributes of the projects with the given ids, in no particular order.
+     */
+    List<Tuple> findFieldsByIds(Collection<Long> ids, Collection<String> attributes);
+}
@@ -0,0 +1,106 @@
+package com.example.project.repository;
+
+import com.example.project.entity.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+class ProjectQueryRepositoryImpl implements ProjectQueryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Project> findPage(ProjectFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Project> query = cb.createQuery(Project.class);
+        Root<Project> project = query.from(Project.class);
+        query.select(project)
+                .where(predicates(cb, project, filter, afterId))
+                .orderBy(cb.asc(project.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<ProjectChangeStamp> findChangeStamps(ProjectFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectChangeStamp> query = cb.createQuery(ProjectChangeStamp.class);
+        Root<Project> project = query.from(Project.class);
+        query.select(cb.construct(ProjectChangeStamp.class, project.get("id"), project.get("version")))
+                .where(predicates(cb, project, filter, afterId))
+                .orderBy(cb.asc(project.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Tuple> findFields(ProjectFilter filter, Long afterId, int limit, Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Project> project = query.from(Project.class);
+        query.multiselect(selections(project, attributes))
+                .where(predicates(cb, project, filter, afterId))
+                .orderBy(cb.asc(project.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Tuple> findFieldsByIds(Collection<Long> ids, Collection<String> attributes) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Project> project = query.from(Project.class);
+        query.multiselect(selections(project, attributes))
+                .where(project.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    private static List<Selection<?>> selections(Root<Project> project, Collection<String> attributes) {
+        Set<String> selected = new LinkedHashSet<>(List.of("id", "version"));
+        selected.addAll(attributes);
+        return selected.stream()
+                .<Selection<?>>map(attribute -> project.get(attribute).alias(attribute))
+                .toList();
+    }
+    
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Project> project, ProjectFilter filter, Long afterId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(project.get("id"), afterId));
+        }
+        Expression<LocalDate> startDate = project.get("startDate");
+        Expression<LocalDate> endDate = project.get("endDate");
+        if (filter.hasActiveWindow()) {
+            predicates.add(cb.isTrue(cb.function(ScheduleFunctionContributor.OVERLAPS, Boolean.class,
+                    startDate, endDate, dateOrNull(cb, filter.activeFrom()), dateOrNull(cb, filter.activeTo()))));
+        }
+        if (filter.startsAfter() != null) {
+            predicates.add(cb.greaterThan(startDate, filter.startsAfter()));
+        }
+        if (filter.endsBefore() != null) {
+            predicates.add(cb.isTrue(cb.function(ScheduleFunctionContributor.ENDS_BEFORE, Boolean.class,
+                    startDate, endDate, dateOrNull(cb, filter.endsBefore()))));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+    
+    // Binds the date as a parameter; JPA literals would be inlined into function arguments
+    private static Expression<LocalDate> dateOrNull(CriteriaBuilder cb, LocalDate date) {
+        return date == null ? cb.nullLiteral(LocalDate.class) : ((HibernateCriteriaBuilder) cb).value(date);
+    }
+}
@@ -1,9 +1,215 @@
 package com.example.project.repository;
 
 import com.example.project.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectQueryRepository {
+
+    /**
+     * Streams every project over a server-side cursor. Must be consumed inside a transaction
+     * (the PostgreSQL driver only honours the fetch size with auto-commit disabled) and closed afterwards.
+     */
+    @Query("select p from Project p order by p.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Project> streamAllOrderedById();
+
+    /**
+     * Loads the projects with the given ids, in no particular order. The ids travel as one array
+     * parameter, so every lookup shares the same statement whatever its size, unlike an IN list.
+     */
+    @Query(value = "SELECT p.* FROM projects p WHERE p.id = ANY(:ids)", nativeQuery = true)
+    List<Project> findAllByIdIn(@Param("ids") Long[] ids);
+
+    /**
+     * Ranks projects matching a web-search style query (e.g. {@code "mobile -android"}) by relevance.
+     * Served by the GIN index on {@code search_vector}; ties are broken by id for stable keyset paging.
+     */
+    @Query(value = """
+            SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank
+            FROM projects p, websearch_to_tsquery('english', :query) q
+            WHERE p.search_vector @@ q
+            ORDER BY rank DESC, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProjectSearchHit> search(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT id, rank FROM (
+                SELECT p.id AS id, ts_rank(p.search_vector, q) AS rank
+                FROM projects p, websearch_to_tsquery('english', :query) q
+                WHERE p.search_vector @@ q
+            ) hits
+            WHERE rank < CAST(:afterRank AS real) OR (rank = CAST(:afterRank AS real) AND id > :afterId)
+            ORDER BY rank DESC, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProjectSearchHit> searchAfter(@Param("query") String query,
+                                       @Param("afterRank") float afterRank,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * Projects, and unless {@code withTombstones} is false deleted ids, written by transactions at or after
+     * {@code afterXid}, in (change_xid, id) order after ({@code afterXid}, {@code afterId}).
+     * Both branches are keyset scans over their (change_xid, id) index.
+     */
+    @Query(value = """
+            SELECT id, version, "changeXid", deleted FROM (
+                (SELECT p.id AS id, p.version AS version, p.change_xid AS change_xid,
+                        CAST(p.change_xid AS text) AS "changeXid", false AS deleted
+                 FROM projects p
+                 WHERE (p.change_xid, p.id) > (CAST(:afterXid AS xid8), :afterId)
+                 ORDER BY p.change_xid, p.id
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT t.id, t.version, t.change_xid, CAST(t.change_xid AS text), true
+                 FROM project_tombstones t
+                 WHERE :withTombstones AND (t.change_xid, t.id) > (CAST(:afterXid AS xid8), :afterId)
+                 ORDER BY t.change_xid, t.id
+                 LIMIT :limit)
+            ) changes
+            ORDER BY change_xid, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProjectChangeRow> findChangesAfter(@Param("afterXid") String afterXid,
+                                            @Param("afterId") long afterId,
+                                            @Param("withTombstones") boolean withTombstones,
+                                            @Param("limit") int limit);
+
+    /**
+     * The oldest transaction still running as of the current snapshot; everything before it has finished.
+     */
+    @Query(value = "SELECT CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text)", nativeQuery = true)
+    String findSnapshotXmin();
+
+    @Query(value = "SELECT CAST(pruned_xid AS text) FROM project_sync_horizon", nativeQuery = true)
+    String findPrunedTombstoneXid();
+
+    /**
+     * Deletes tombstones older than {@code retentionSeconds} and moves the sync horizon past them.
+     * Returns the number of tombstones deleted.
+     */
+    @Query(value = """
+            WITH pruned AS (
+                DELETE FROM project_tombstones
+                WHERE deleted_at < LOCALTIMESTAMP - make_interval(secs => :retentionSeconds)
+                RETURNING change_xid
+            ), horizon AS (
+                UPDATE project_sync_horizon
+                SET pruned_xid = greatest(pruned_xid, (SELECT max(change_xid) FROM pruned))
+                WHERE EXISTS (SELECT 1 FROM pruned)
+            )
+            SELECT count(*) FROM pruned
+            """, nativeQuery = true)
+    long pruneTombstones(@Param("retentionSeconds") long retentionSeconds);
+
+    /**
+     * Projects starting and ending per month, and the total duration of those ending, from {@code project_daily_stats}.
+     */
+    @Query(value = """
+            SELECT CAST(date_trunc('month', day) AS date) AS "month",
+                   sum(starting) AS "starting",
+                   sum(ending) AS "ending",
+                   sum(ending_duration_days) AS "durationDays"
+            FROM project_daily_stats
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<ProjectMonthStats> findMonthlyStats();
+
+    /**
+     * Projects ending between the two dates, inclusive, and when {@code project_daily_stats} was last refreshed.
+     */
+    @Query(value = """
+            SELECT (SELECT coalesce(sum(ending), 0) FROM project_daily_stats
+                    WHERE day BETWEEN :endingFrom AND :endingTo) AS "endingBetween",
+                   refreshed_at AS "refreshedAt"
+            FROM project_stats_refresh
+            """, nativeQuery = true)
+    ProjectStatsSummary findStatsSummary(@Param("endingFrom") LocalDate endingFrom, @Param("endingTo") LocalDate endingTo);
+
+    /**
+     * Takes the stats refresh lock until the end of the transaction, unless another node holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('project_daily_stats'))", nativeQuery = true)
+    boolean tryLockStatsRefresh();
+
+    /**
+     * Whether a project was written or deleted by a transaction the last refresh may not have seen.
+     * Compares the newest stamps, read from the ends of the change indexes, so that it costs the same when nothing changed.
+     */
+    @Query(value = """
+            SELECT coalesce((SELECT max(change_xid) FROM projects) >= r.snapshot_xmin, false)
+                OR coalesce((SELECT max(change_xid) FROM project_tombstones) >= r.snapshot_xmin, false)
+            FROM project_stats_refresh r
+            """, nativeQuery = true)
+    boolean isStatsStale();
+
+    /**
+     * Records a refresh at the current snapshot. Called before {@link #refreshStats()}, so that transactions
+     * still running are taken as possibly missing and trigger the next refresh.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE project_stats_refresh
+            SET refreshed_at = LOCALTIMESTAMP, snapshot_xmin = pg_snapshot_xmin(pg_current_snapshot())
+            """, nativeQuery = true)
+    void markStatsRefreshed();
+
+    /**
+     * Recomputes {@code project_daily_stats} without blocking its readers.
+     */
+    @Modifying
+    @Query(value = "REFRESH MATERIALIZED VIEW CONCURRENTLY project_daily_stats", nativeQuery = true)
+    void refreshStats();
+
+    /**
+     * The project's current version, locking its row until the end of the transaction so that it stays current.
+     */
+    @Query(value = "SELECT version FROM projects WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockVersion(@Param("id") Long id);
+
+    /**
+     * Applies the non-null fields in one conditional UPDATE and bumps the version.
+     * Returns 0 when the project does not exist, its version differs, or the result would end before it starts.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Project p
+            set p.name = coalesce(:name, p.name),
+                p.description = coalesce(:description, p.description),
+                p.startDate = coalesce(:startDate, p.startDate),
+                p.endDate = coalesce(:endDate, p.endDate),
+                p.updatedAt = :updatedAt,
+                p.version = p.version + 1
+            where p.id = :id
+              and p.version = :version
+              and (coalesce(:startDate, p.startDate) is null
+                   or coalesce(:endDate, p.endDate) is null
+                   or coalesce(:endDate, p.endDate) > coalesce(:startDate, p.startDate))
+            """)
+    int patch(@Param("id") Long id,
+              @Param("version") Long version,
+              @Param("name") String name,
+              @Param("description") String description,
+              @Param("startDate") LocalDate startDate,
+              @Param("endDate") LocalDate endDate,
+              @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,11 @@
+package com.example.project.repository;
+
+/**
+ * Id and relevance of a project matching a full-text query.
+ */
+public interface ProjectSearchHit {
+    
+    Long getId();
+    
+    Float getRank();
+}
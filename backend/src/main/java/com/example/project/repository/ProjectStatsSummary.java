@@ -0,0 +1,13 @@
+package com.example.project.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projects ending in a date range, and when the statistics were last refreshed.
+ */
+public interface ProjectStatsSummary {
+    
+    Long getEndingBetween();
+    
+    LocalDateTime getRefreshedAt();
+}
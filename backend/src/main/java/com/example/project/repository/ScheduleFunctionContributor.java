@@ -0,0 +1,31 @@
+package com.example.project.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers PostgreSQL range predicates over a project schedule. Both render the exact
+ * {@code daterange(start_date, end_date, '[]')} expression of {@code idx_projects_schedule}
+ * so the planner can answer them from the GiST index. A null bound leaves that side open.
+ */
+public class ScheduleFunctionContributor implements FunctionContributor {
+    
+    static final String OVERLAPS = "schedule_overlaps";
+    
+    static final String ENDS_BEFORE = "schedule_ends_before";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        // schedule_overlaps(start, end, from, to): the schedules share at least one day
+        functionContributions.getFunctionRegistry().registerPattern(OVERLAPS,
+                "(daterange(?1, ?2, '[]') && daterange(?3, ?4, '[]'))", booleanType);
+        // schedule_ends_before(start, end, day): the schedule is over before the given day
+        functionContributions.getFunctionRegistry().registerPattern(ENDS_BEFORE,
+                "(daterange(?1, ?2, '[]') << daterange(?3, null, '[]'))", booleanType);
+    }
+}
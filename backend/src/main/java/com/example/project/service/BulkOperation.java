@@ -0,0 +1,15 @@
+package com.example.project.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a streaming or bulk call that may hold its connection for minutes. It takes a permit from the
+ * separate bulk budget of {@link DatabaseConcurrencyLimiter}, so it never holds one that short calls need.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BulkOperation {
+}
@@ -0,0 +1,16 @@
+package com.example.project.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments share one load: the first caller runs it and
+ * the others wait for its result. Each caller gets its own copy of a project or project page; any other
+ * result is shared between the callers and must be immutable. See {@link RequestCoalescer}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
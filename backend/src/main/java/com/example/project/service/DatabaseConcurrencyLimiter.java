@@ -0,0 +1,228 @@
+package com.example.project.service;
+
+import com.example.project.config.DatabaseConcurrencyProperties;
+import com.example.project.config.PrimaryOnly;
+import com.example.project.config.ReadReplicaProperties;
+import com.example.project.config.ReplicaRouting;
+import com.example.project.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits service calls up to the connections of the pool they will use, so that with virtual threads a
+ * burst of requests queues here (bounded, fair, observable) instead of piling up inside a connection pool.
+ * Nested service calls on the same thread reuse the caller's permit.
+ * <p>
+ * Each call draws on one budget: {@code bulk} for {@link BulkOperation} calls, {@code replica} for read-only
+ * transactions when read replicas are configured (unless {@link PrimaryOnly}), and {@code primary} for the
+ * rest. The bulk permits are held back from the other two budgets, since a bulk call may use either pool,
+ * so a long export or import never holds a permit that short calls wait for. Whether a read-only call goes to
+ * a replica is asked of {@link ReplicaRouting} when the call starts and pinned for the data source, so reads
+ * kept on the primary (read-your-writes window) take a primary permit. A read that falls back to the primary
+ * later, when a replica refuses a connection, trades its replica permit for a primary one first.
+ */
+@Aspect
+@Component
+@Order(DatabaseConcurrencyLimiter.ORDER)
+@Slf4j
+public class DatabaseConcurrencyLimiter {
+    
+    /**
+     * Inside the cache advisor, so cache hits need no permit, and outside the transaction advisor,
+     * so the permit is held before a connection is taken.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    
+    private static final ThreadLocal<Budget> HELD = new ThreadLocal<>();
+    
+    private final DatabaseConcurrencyProperties properties;
+    
+    private final ReplicaRouting routing;
+    
+    private final TransactionAttributeSource transactionAttributes = new AnnotationTransactionAttributeSource();
+    
+    private final Map<Method, Budget> budgetsByMethod = new ConcurrentHashMap<>();
+    
+    private final Budget primary;
+    
+    private final Budget replicas;
+    
+    private final Budget bulk;
+    
+    public DatabaseConcurrencyLimiter(DatabaseConcurrencyProperties properties, ReadReplicaProperties replicaProperties,
+                                      ReplicaRouting routing, MeterRegistry meterRegistry) {
+        if (properties.maxBulk() < 1 || properties.maxBulk() >= properties.maxConcurrent()) {
+            throw new IllegalStateException("app.db-concurrency.max-bulk must be at least 1 and less than "
+                    + "app.db-concurrency.max-concurrent (" + properties.maxConcurrent() + ")");
+        }
+        this.properties = properties;
+        this.routing = routing;
+        this.primary = new Budget("primary", properties.maxConcurrent() - properties.maxBulk(), meterRegistry);
+        int replicaCount = replicaProperties.urls().size();
+        this.replicas = replicaCount == 0
+                ? null
+                : new Budget("replica", replicaCount * properties.maxConcurrent() - properties.maxBulk(), meterRegistry);
+        this.bulk = new Budget("bulk", properties.maxBulk(), meterRegistry);
+        routing.onPrimaryFallback(this::moveToPrimary);
+    }
+    
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object limit(ProceedingJoinPoint call) throws Throwable {
+        if (HELD.get() != null) {
+            return call.proceed();
+        }
+        Budget budget = budgetOf(call);
+        // Bulk permits cover either pool, so bulk reads are left to the data source
+        boolean pinned = budget != bulk;
+        if (pinned) {
+            budget = routing.pin(budget == replicas) ? replicas : primary;
+        }
+        try {
+            budget.acquire();
+            HELD.set(budget);
+            try {
+                return call.proceed();
+            } finally {
+                HELD.get().permits.release();
+                HELD.remove();
+            }
+        } finally {
+            if (pinned) {
+                routing.unpin();
+            }
+        }
+    }
+    
+    int active(String budget) {
+        return switch (budget) {
+            case "primary" -> primary.active();
+            case "replica" -> replicas == null ? 0 : replicas.active();
+            case "bulk" -> bulk.active();
+            default -> throw new IllegalArgumentException("Unknown budget: " + budget);
+        };
+    }
+    
+    // The current thread's replica read is about to be served by the primary
+    private void moveToPrimary() {
+        if (HELD.get() == replicas) {
+            primary.acquire();
+            HELD.set(primary);
+            replicas.permits.release();
+        }
+    }
+    
+    private Budget budgetOf(ProceedingJoinPoint call) {
+        Class<?> targetClass = AopUtils.getTargetClass(call.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) call.getSignature()).getMethod(), targetClass);
+        return budgetsByMethod.computeIfAbsent(method, key -> budgetOf(key, targetClass));
+    }
+    
+    private Budget budgetOf(Method method, Class<?> targetClass) {
+        if (AnnotatedElementUtils.hasAnnotation(method, BulkOperation.class)) {
+            return bulk;
+        }
+        if (replicas == null || AnnotatedElementUtils.hasAnnotation(method, PrimaryOnly.class)
+                || AnnotatedElementUtils.hasAnnotation(targetClass, PrimaryOnly.class)) {
+            return primary;
+        }
+        TransactionAttribute attribute = transactionAttributes.getTransactionAttribute(method, targetClass);
+        return attribute != null && attribute.isReadOnly() ? replicas : primary;
+    }
+    
+    /**
+     * A fair semaphore over the connections of one kind of work, with its queue and metrics.
+     */
+    private class Budget {
+        
+        private final String name;
+        
+        private final int size;
+        
+        private final Semaphore permits;
+        
+        private final AtomicInteger waiting = new AtomicInteger();
+        
+        private final Timer waitTimer;
+        
+        private final Counter rejections;
+        
+        Budget(String name, int size, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.size = size;
+            this.permits = new Semaphore(size, true);
+            Gauge.builder("app.db.limiter.active", this, Budget::active)
+                    .description("Service calls currently holding a database permit")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+            Gauge.builder("app.db.limiter.waiting", waiting, AtomicInteger::get)
+                    .description("Service calls queued for a database permit")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("app.db.limiter.wait")
+                    .description("Time queued callers waited for a database permit")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("app.db.limiter.rejected")
+                    .description("Service calls turned away because no database permit became free")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+        }
+        
+        int active() {
+            return size - permits.availablePermits();
+        }
+        
+        void acquire() {
+            try {
+                // A zero timeout still honours the queue order of a fair semaphore
+                if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+                if (waiting.incrementAndGet() > properties.maxWaiting()) {
+                    waiting.decrementAndGet();
+                    throw reject("Too many requests waiting for the database");
+                }
+                long start = System.nanoTime();
+                try {
+                    if (!permits.tryAcquire(properties.acquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        throw reject("Timed out waiting for the database");
+                    }
+                } finally {
+                    waiting.decrementAndGet();
+                    waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw reject("Interrupted while waiting for the database");
+            }
+        }
+        
+        private DatabaseBusyException reject(String message) {
+            rejections.increment();
+            log.warn("{} ({} budget: {} in use, {} waiting)", message, name, active(), waiting.get());
+            return new DatabaseBusyException(message);
+        }
+    }
+}
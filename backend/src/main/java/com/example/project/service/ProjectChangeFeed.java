@@ -0,0 +1,301 @@
+package com.example.project.service;
+
+import com.example.project.config.CacheConfig;
+import com.example.project.config.ProjectCache;
+import com.example.project.config.ProjectChangeFeedProperties;
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.ChangeFeedFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes project changes to Server-Sent Events subscribers. A trigger on {@code projects} notifies the
+ * {@value #CHANNEL} channel on commit, and one dedicated connection per node listens to it, so changes
+ * made through any node arrive here. The connection is kept out of the pool: it is held for the life of
+ * the node and has to reach the primary, as replicas do not deliver notifications.
+ * <p>
+ * Every subscriber has a bounded queue drained by its own virtual thread, so a slow client only delays
+ * itself. One that falls {@code queueCapacity} events behind loses its backlog and gets a single resync
+ * event instead. Events also evict outdated entries from the project cache, written through other nodes.
+ * A transaction that changes many projects at once notifies a single resync, which clears the cache.
+ * <p>
+ * A component rather than a service: holding a stream open takes no database permit.
+ */
+@Component
+@Slf4j
+public class ProjectChangeFeed implements SmartLifecycle {
+
+    static final String CHANNEL = "project_changes";
+
+    private final ProjectChangeFeedProperties properties;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheManager cacheManager;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    // One permit per open stream, so concurrent subscribes cannot go past maxSubscribers
+    private final Semaphore slots;
+
+    private final Counter events;
+
+    private final Counter overflows;
+
+    private volatile boolean running;
+
+    private volatile boolean connected;
+
+    private Thread listener;
+
+    public ProjectChangeFeed(ProjectChangeFeedProperties properties, DataSourceProperties dataSourceProperties,
+                             ObjectMapper objectMapper, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.slots = new Semaphore(properties.maxSubscribers());
+        Gauge.builder("app.change-feed.subscribers", subscribers, Set::size)
+                .description("Open project change streams")
+                .register(meterRegistry);
+        Gauge.builder("app.change-feed.connected", this, feed -> feed.connected ? 1 : 0)
+                .description("Whether this node is listening for project changes")
+                .register(meterRegistry);
+        this.events = Counter.builder("app.change-feed.events")
+                .description("Project changes received from the database")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("app.change-feed.overflows")
+                .description("Subscriber backlogs dropped for a resync because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a change stream. Events start with the next committed change.
+     */
+    public SseEmitter subscribe() {
+        if (!slots.tryAcquire()) {
+            throw new ChangeFeedFullException("Too many open change streams");
+        }
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, properties.queueCapacity());
+        subscribers.add(subscriber);
+        Thread sender = Thread.ofVirtual().name("change-feed-sender").start(() -> send(subscriber));
+        Runnable close = () -> {
+            unsubscribe(subscriber);
+            sender.interrupt();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(() -> {
+            close.run();
+            // Ends the response normally; left open, the timeout would surface as an error on a committed stream
+            emitter.complete();
+        });
+        emitter.onError(ex -> close.run());
+        return emitter;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("project-change-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Handles one notification payload from the trigger.
+     */
+    void publish(String payload) {
+        ProjectChangeDto change;
+        try {
+            change = objectMapper.readValue(payload, ProjectChangeDto.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed project change: {}", payload);
+            return;
+        }
+        events.increment();
+        evictIfOutdated(change);
+        broadcast(change);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                connected = true;
+                log.info("Listening for project changes on {}", CHANNEL);
+                // Whatever was committed while disconnected was never delivered
+                if (reconnecting) {
+                    broadcast(ProjectChangeDto.resync());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) properties.heartbeat().toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        // A quiet channel and a dead connection look the same until we ask
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        publish(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Project change listener disconnected, retrying in {}: {}", properties.reconnectDelay(), ex.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+        connected = false;
+    }
+
+    private Connection connect() throws SQLException {
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("user", dataSourceProperties.determineUsername());
+        connectionProperties.setProperty("password", dataSourceProperties.determinePassword());
+        connectionProperties.setProperty("ApplicationName", "project-change-feed");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    // Writes through this node already refreshed or superseded the entry; only those of other nodes leave it behind
+    private void evictIfOutdated(ProjectChangeDto change) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (ProjectChangeDto.RESYNC.equals(change.type())) {
+            // A transaction changed too many projects to name them; any cached one may be among them
+            cache.clear();
+            return;
+        }
+        if (cache instanceof ProjectCache projectCache) {
+            // Also keeps loads that read the project before the change from caching it afterwards
+            projectCache.supersede(change.id(), ProjectChangeDto.DELETED.equals(change.type()) ? Long.MAX_VALUE : change.version());
+            return;
+        }
+        Project cached = cache.get(change.id(), Project.class);
+        if (cached != null && (ProjectChangeDto.DELETED.equals(change.type()) || cached.getVersion() < change.version())) {
+            cache.evict(change.id());
+        }
+    }
+
+    // Called once per close path; only the first frees the slot
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.release();
+        }
+    }
+    
+    private void broadcast(ProjectChangeDto change) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(change)) {
+                overflows.increment();
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        try {
+            // Commits the response, so the client knows the stream is open
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (true) {
+                ProjectChangeDto change = subscriber.poll(properties.heartbeat());
+                if (change == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event().name(change.type()).data(change, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException ex) {
+            // The stream completed, timed out or failed
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Change stream closed: {}", ex.getMessage());
+            unsubscribe(subscriber);
+        }
+    }
+
+    static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<ProjectChangeDto> queue;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Queues the change, or, when the subscriber is too far behind, replaces its backlog with a resync.
+         * Called from the listener thread only.
+         *
+         * @return false if the backlog was dropped
+         */
+        boolean offer(ProjectChangeDto change) {
+            if (queue.offer(change)) {
+                return true;
+            }
+            queue.clear();
+            queue.offer(ProjectChangeDto.resync());
+            return false;
+        }
+
+        ProjectChangeDto poll(Duration timeout) throws InterruptedException {
+            return queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
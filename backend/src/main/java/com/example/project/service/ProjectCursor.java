@@ -0,0 +1,94 @@
+package com.example.project.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: over the project id for listings, over (rank, id) for search results,
+ * and over (change_xid, id) for sync tokens. Clients must treat the value as a token and only echo it back.
+ */
+final class ProjectCursor {
+
+    private static final String PREFIX = "id:";
+
+    private static final String SEARCH_PREFIX = "rank:";
+
+    private static final String SYNC_PREFIX = "sync:";
+
+    record SearchPosition(float rank, Long id) {}
+
+    /**
+     * Where a delta sync continues: after ({@code afterXid}, {@code afterId}) in change order.
+     * {@code horizon} is the oldest transaction that could still commit since the sync round began, null
+     * before the round's first page. {@code full} marks the initial sync, which has no use for tombstones.
+     */
+    record SyncPosition(long afterXid, long afterId, Long horizon, boolean full) {
+
+        static final SyncPosition INITIAL = new SyncPosition(0, 0, null, true);
+    }
+
+    private ProjectCursor() {
+    }
+
+    static String encode(Long lastId) {
+        return toToken(PREFIX + lastId);
+    }
+
+    // Float.toString round-trips exactly, so the decoded rank compares equal to the stored one
+    static String encodeSearch(float lastRank, Long lastId) {
+        return toToken(SEARCH_PREFIX + lastRank + "/" + lastId);
+    }
+
+    static SearchPosition decodeSearch(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('/');
+            if (raw.startsWith(SEARCH_PREFIX) && separator > 0) {
+                return new SearchPosition(
+                        Float.parseFloat(raw.substring(SEARCH_PREFIX.length(), separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException ex) {
+            // Malformed Base64 or numbers; reported below as an invalid cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    static String encodeSync(SyncPosition position) {
+        return toToken(SYNC_PREFIX + position.afterXid() + "/" + position.afterId() + "/"
+                + (position.horizon() == null ? "" : position.horizon()) + "/" + (position.full() ? "full" : "delta"));
+    }
+
+    static SyncPosition decodeSync(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.startsWith(SYNC_PREFIX) ? raw.substring(SYNC_PREFIX.length()).split("/", -1) : new String[0];
+            if (parts.length == 4 && (parts[3].equals("full") || parts[3].equals("delta"))) {
+                return new SyncPosition(
+                        Long.parseLong(parts[0]),
+                        Long.parseLong(parts[1]),
+                        parts[2].isEmpty() ? null : Long.valueOf(parts[2]),
+                        parts[3].equals("full"));
+            }
+        } catch (IllegalArgumentException ex) {
+            // Malformed Base64 or numbers; reported below as an invalid token
+        }
+        throw new IllegalArgumentException("Invalid sync token: " + token);
+    }
+
+    private static String toToken(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(PREFIX)) {
+                return Long.parseLong(raw.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException ex) {
+            // Malformed Base64 or id; reported below as an invalid cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
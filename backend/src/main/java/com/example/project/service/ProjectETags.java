@@ -0,0 +1,127 @@
+package com.example.project.service;
+
+import com.example.project.entity.Project;
+import com.example.project.exception.ProjectVersionConflictException;
+import com.example.project.repository.ProjectChangeStamp;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Builds entity tags for projects and project pages from their ids and optimistic-lock versions.
+ * A page tag covers every row on the page plus whether a next page exists, so inserts and deletes
+ * inside the page range change it as well as updates.
+ * <p>
+ * Project tags are strong because they are sent back in If-Match. A strong tag promises identical bytes,
+ * so each media type of a project gets its own: {@code "1-3"} for JSON, {@code "1-3.cbor"} and
+ * {@code "1-3.smile"} for the binary formats. If-Match accepts the tag of any of them, since they all stand
+ * for the same version. Page tags are only ever used with If-None-Match and are weak. One tag then covers
+ * a page in every media type and content coding, and the container may still gzip the response; it leaves
+ * responses with strong tags uncompressed.
+ */
+public final class ProjectETags {
+    
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    
+    /**
+     * The media types a project is served in, JSON first as the default.
+     */
+    public static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+    
+    private static final Map<MediaType, String> SUFFIXES = Map.of(MediaType.APPLICATION_CBOR, "cbor", SMILE, "smile");
+    
+    private ProjectETags() {
+    }
+    
+    /**
+     * The tag of the project's JSON representation.
+     */
+    public static String of(Project project) {
+        return of(project, MediaType.APPLICATION_JSON);
+    }
+    
+    public static String of(Project project, MediaType representation) {
+        return of(project.getId(), project.getVersion(), representation);
+    }
+    
+    public static String of(Long id, Long version, MediaType representation) {
+        String suffix = SUFFIXES.get(representation);
+        return suffix == null ? id + "-" + version : id + "-" + version + "." + suffix;
+    }
+    
+    public static String of(ProjectPage page) {
+        StringJoiner parts = new StringJoiner(",");
+        page.projects().forEach(project -> parts.add(stamp(project.getId(), project.getVersion())));
+        return digest(parts, page.nextCursor() != null);
+    }
+    
+    /**
+     * Derives the tag of a page reduced to {@code fields} from the tag of the full page, so each
+     * field selection is a distinct representation. A null selection leaves the tag unchanged.
+     */
+    public static String forFields(String pageETag, Set<ProjectField> fields) {
+        if (fields == null || fields.equals(EnumSet.allOf(ProjectField.class))) {
+            return pageETag;
+        }
+        return weak(DigestUtils.md5DigestAsHex((pageETag + ";fields=" + ProjectField.names(fields)).getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * Extracts the version from an If-Match value previously issued for the project.
+     * Returns null for the wildcard; any tag not issued for this project can never match.
+     */
+    public static Long versionOf(Long id, String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            // Weak tags never satisfy If-Match
+            throw new ProjectVersionConflictException(id);
+        }
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            String version = tag.substring(prefix.length(), tag.length() - 1);
+            int dot = version.indexOf('.');
+            if (dot >= 0 && SUFFIXES.containsValue(version.substring(dot + 1))) {
+                version = version.substring(0, dot);
+            }
+            try {
+                return Long.parseLong(version);
+            } catch (NumberFormatException ex) {
+                // Not one of our tags; reported as a mismatch below
+            }
+        }
+        throw new ProjectVersionConflictException(id);
+    }
+    
+    /**
+     * Tags a page from change stamps fetched with one extra look-ahead row, matching {@link #of(ProjectPage)}.
+     */
+    static String of(List<ProjectChangeStamp> stamps, int pageSize) {
+        StringJoiner parts = new StringJoiner(",");
+        stamps.stream()
+                .limit(pageSize)
+                .forEach(stamp -> parts.add(stamp(stamp.id(), stamp.version())));
+        return digest(parts, stamps.size() > pageSize);
+    }
+    
+    private static String stamp(Long id, Long version) {
+        return id + ":" + version;
+    }
+    
+    private static String digest(StringJoiner parts, boolean hasNext) {
+        String content = parts + (hasNext ? ";next" : ";last");
+        return weak(DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
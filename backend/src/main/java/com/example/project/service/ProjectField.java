@@ -0,0 +1,60 @@
+package com.example.project.service;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Project fields a client can select with {@code ?fields=}. Names match both the
+ * {@link com.example.project.dto.ProjectDto} properties and the entity attributes they are read from.
+ */
+public enum ProjectField {
+    
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    START_DATE("startDate"),
+    END_DATE("endDate");
+    
+    private final String attribute;
+    
+    ProjectField(String attribute) {
+        this.attribute = attribute;
+    }
+    
+    public String attribute() {
+        return attribute;
+    }
+    
+    /**
+     * Parses a comma-separated field list such as {@code "name,startDate"}.
+     * Returns null when no list is given; {@code id} is always part of a parsed selection.
+     */
+    public static Set<ProjectField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<ProjectField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(Arrays.stream(values())
+                        .filter(field -> field.attribute.equals(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                "Unknown field: " + trimmed + ". Allowed fields: " + names(EnumSet.allOf(ProjectField.class)))));
+            }
+        }
+        return selected;
+    }
+    
+    static List<String> attributes(Set<ProjectField> fields) {
+        return fields.stream().map(ProjectField::attribute).toList();
+    }
+    
+    static String names(Set<ProjectField> fields) {
+        return fields.stream().map(ProjectField::attribute).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.project.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of projects reduced to the selected fields, each keyed by field name.
+ * {@code nextCursor} is null when there are no further pages; {@code eTag} tags this representation, if tagged at all.
+ */
+public record ProjectFieldsPage(List<Map<String, Object>> projects, String nextCursor, String eTag) {}
@@ -0,0 +1,263 @@
+package com.example.project.service;
+
+import com.example.project.config.BulkInsertProperties;
+import com.example.project.config.DatabaseConcurrencyProperties;
+import com.example.project.config.GroupCommitProperties;
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for {@code POST /api/projects}: callers queue their project here and one writer thread
+ * creates whole groups through {@link ProjectService#createProjectGroup}, so a burst of single creates costs
+ * one transaction, and one multi-row INSERT per JDBC batch, per group instead of one commit each.
+ * A group is written once it holds {@code maxBatchSize} projects or its first has waited {@code maxDelay}.
+ * <p>
+ * Every caller still gets its own project, with its own id, or its own error: when a group fails for
+ * any reason but overload, its projects are created again one by one. The queue is bounded; when it is
+ * full, callers wait up to {@code enqueueTimeout} for room and then get {@link DatabaseBusyException}.
+ * A queued caller waits for its group at most {@code maxDelay} plus the database limiter's acquire timeout
+ * plus {@code transactionTimeoutSeconds}, and then gets {@link DatabaseBusyException} too. Its project is withdrawn
+ * if no group has taken it yet.
+ * <p>
+ * A component rather than a service: queued callers hold no database permit, the writer takes one per group.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.group-commit", name = "enabled", havingValue = "true")
+@Slf4j
+public class ProjectGroupCommitter implements SmartLifecycle {
+    
+    /**
+     * Below the phases of the web server, so the writer runs before the first request is accepted
+     * and is stopped only after the last one has been served.
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    
+    // How often an idle writer checks whether it should stop
+    private static final long IDLE_POLL_MILLIS = 100;
+    
+    private final GroupCommitProperties properties;
+    
+    private final ProjectService projectService;
+    
+    private final BlockingQueue<PendingCreate> queue;
+    
+    private final Duration resultTimeout;
+    
+    private final DistributionSummary groupSizes;
+    
+    private final Counter retries;
+    
+    private final Counter rejections;
+    
+    private final Counter timeouts;
+    
+    private volatile boolean running;
+    
+    private Thread writer;
+    
+    public ProjectGroupCommitter(GroupCommitProperties properties, BulkInsertProperties bulkInsertProperties,
+                                 DatabaseConcurrencyProperties concurrencyProperties, ProjectService projectService,
+                                 MeterRegistry meterRegistry) {
+        // Larger groups would all fail the bulk size check and quietly fall back to one insert per project
+        if (properties.maxBatchSize() < 1 || properties.maxBatchSize() > bulkInsertProperties.maxItems()) {
+            throw new IllegalStateException("app.group-commit.max-batch-size must be between 1 and app.bulk-insert.max-items ("
+                    + bulkInsertProperties.maxItems() + "), was " + properties.maxBatchSize());
+        }
+        this.properties = properties;
+        this.projectService = projectService;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.resultTimeout = properties.maxDelay()
+                .plus(concurrencyProperties.acquireTimeout())
+                .plusSeconds(properties.transactionTimeoutSeconds());
+        Gauge.builder("app.group-commit.queued", queue, BlockingQueue::size)
+                .description("Project creations waiting to be written")
+                .register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("app.group-commit.group-size")
+                .description("Projects created per group commit")
+                .register(meterRegistry);
+        this.retries = Counter.builder("app.group-commit.retried")
+                .description("Groups that failed and were created again one project at a time")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("app.group-commit.rejected")
+                .description("Project creations turned away because the queue stayed full")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("app.group-commit.timed-out")
+                .description("Project creations whose caller stopped waiting for the group to be written")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Queues the project and waits until the group it joined has been written.
+     */
+    public Project create(ProjectCreateDto projectDto) {
+        if (!running) {
+            throw new DatabaseBusyException("Not accepting new projects while shutting down");
+        }
+        PendingCreate pending = new PendingCreate(projectDto, new CompletableFuture<>(), new AtomicBoolean());
+        try {
+            if (!queue.offer(pending, properties.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                rejections.increment();
+                log.warn("Rejected project creation: {} already waiting to be written", queue.size());
+                throw new DatabaseBusyException("Too many projects waiting to be created");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting to create the project");
+        }
+        try {
+            return pending.result().get(resultTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Project creation failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw giveUp(pending, "Timed out waiting for the project to be created");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw giveUp(pending, "Interrupted while waiting for the project to be created");
+        }
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("project-group-committer").start(this::writeGroups);
+    }
+    
+    /**
+     * Stops accepting projects and returns once those already queued have been written.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+    
+    private void writeGroups() {
+        List<PendingCreate> group = new ArrayList<>(properties.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+            } catch (InterruptedException ex) {
+                // Not interrupted by stop(); write what was collected and carry on draining
+                log.warn("Project group committer interrupted, writing {} queued projects", group.size());
+            }
+            // Callers that gave up while queued are left out, however the group was collected
+            group.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+            if (!group.isEmpty()) {
+                write(group);
+                group.clear();
+            }
+        }
+        // A caller that saw the committer running just before stop() may have queued after the last poll
+        queue.drainTo(group);
+        group.forEach(pending -> pending.result().completeExceptionally(
+                new DatabaseBusyException("Not accepting new projects while shutting down")));
+    }
+    
+    // Takes what is already queued, then waits for more until the group is full or its first has waited maxDelay
+    private void fill(List<PendingCreate> group) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.maxDelay().toNanos();
+        while (group.size() < properties.maxBatchSize()) {
+            queue.drainTo(group, properties.maxBatchSize() - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= properties.maxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+    
+    private DatabaseBusyException giveUp(PendingCreate pending, String message) {
+        timeouts.increment();
+        if (pending.claimed().compareAndSet(false, true)) {
+            queue.remove(pending);
+            log.warn("{}; withdrawn before it was written", message);
+            return new DatabaseBusyException(message);
+        }
+        // Already in a group that is being written: it may yet be committed
+        log.warn("{}; its group is still being written", message);
+        return new DatabaseBusyException(message + "; it may still be created");
+    }
+    
+    private void write(List<PendingCreate> group) {
+        groupSizes.record(group.size());
+        List<Project> projects;
+        try {
+            projects = projectService.createProjectGroup(group.stream().map(PendingCreate::projectDto).toList());
+        } catch (DatabaseBusyException ex) {
+            // Writing them one by one would only add to the load
+            group.forEach(pending -> pending.result().completeExceptionally(ex));
+            return;
+        } catch (RuntimeException ex) {
+            if (group.size() == 1) {
+                group.getFirst().result().completeExceptionally(ex);
+                return;
+            }
+            log.warn("Group commit of {} projects failed, creating them one by one: {}", group.size(), ex.getMessage());
+            retries.increment();
+            group.forEach(this::writeAlone);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result().complete(projects.get(i));
+        }
+    }
+    
+    private void writeAlone(PendingCreate pending) {
+        try {
+            pending.result().complete(projectService.createProjectGroup(List.of(pending.projectDto())).getFirst());
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+    
+    /**
+     * @param claimed set by whichever comes first: the writer taking it into a group, or the caller giving up
+     */
+    private record PendingCreate(ProjectCreateDto projectDto, CompletableFuture<Project> result, AtomicBoolean claimed) {}
+}
@@ -0,0 +1,111 @@
+package com.example.project.service;
+
+import com.example.project.dto.ProjectImportResultDto;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Imports projects from CSV with PostgreSQL COPY.
+ * Rows are streamed into an untyped staging table, then validated and merged into
+ * {@code projects} with a single set-based INSERT ... SELECT, which draws ids from
+ * {@code projects_id_seq} in blocks, as the application does.
+ */
+@Service
+@Timed("app.service")
+@Slf4j
+public class ProjectImportService {
+    
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE project_import_staging (
+                name TEXT,
+                description TEXT,
+                start_date TEXT,
+                end_date TEXT
+            ) ON COMMIT DROP
+            """;
+    
+    private static final String COPY_INTO_STAGING = """
+            COPY project_import_staging (name, description, start_date, end_date)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+    
+    // Mirrors the ProjectCreateDto constraints. Dates stay text in staging so that one bad value
+    // rejects its row instead of aborting the COPY; they are only cast once known to be valid.
+    // Ids are taken the way Hibernate's pooled optimizer takes them: nextval() returns the top of a
+    // block of increment_by ids, so one call is made per block of rows rather than one per row.
+    private static final String MERGE_VALID_ROWS = """
+            WITH pool AS (
+                SELECT increment_by AS size
+                FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = 'projects_id_seq'
+            ),
+            valid AS (
+                SELECT name, description, start_date, end_date, row_number() OVER () - 1 AS n
+                FROM (
+                    SELECT name,
+                           description,
+                           CASE WHEN pg_input_is_valid(start_date, 'date') THEN start_date::date END AS start_date,
+                           CASE WHEN pg_input_is_valid(end_date, 'date') THEN end_date::date END AS end_date
+                    FROM project_import_staging
+                ) typed
+                WHERE btrim(name) <> ''
+                  AND char_length(name) BETWEEN 3 AND 100
+                  AND (description IS NULL OR char_length(description) <= 1000)
+                  AND start_date >= CURRENT_DATE
+                  AND end_date >= CURRENT_DATE
+                  AND end_date > start_date
+            ),
+            blocks AS (
+                SELECT block, nextval('projects_id_seq') AS hi
+                FROM generate_series(0, (SELECT (count(*) + size - 1) / size - 1 FROM valid, pool GROUP BY size)) AS block
+            )
+            INSERT INTO projects (id, name, description, start_date, end_date, created_at, updated_at)
+            SELECT blocks.hi - pool.size + 1 + valid.n % pool.size,
+                   name, description, start_date, end_date, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM valid
+            CROSS JOIN pool
+            JOIN blocks ON blocks.block = valid.n / pool.size
+            """;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Imports CSV rows with the columns name, description, startDate, endDate (header row required).
+     * The body is streamed to the database as it is read and never buffered in full.
+     */
+    @Transactional
+    @BulkOperation
+    public ProjectImportResultDto importCsv(InputStream csv) {
+        log.info("Importing projects from CSV");
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        
+        long staged;
+        try {
+            staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING, csv);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to read CSV upload", ex);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new IllegalArgumentException("Malformed CSV: " + ex.getMostSpecificCause().getMessage(), ex);
+        }
+        
+        long accepted = jdbcTemplate.update(MERGE_VALID_ROWS);
+        log.info("Successfully imported {} of {} CSV rows", accepted, staged);
+        return new ProjectImportResultDto(accepted, staged - accepted);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.project.service;
+
+import com.example.project.entity.Project;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: the projects found and the requested ids that do not exist.
+ */
+public record ProjectLookup(List<Project> projects, List<Long> missingIds) {}
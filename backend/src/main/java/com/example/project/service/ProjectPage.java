@@ -0,0 +1,11 @@
+package com.example.project.service;
+
+import com.example.project.entity.Project;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated project listing.
+ * {@code nextCursor} is null when there are no further pages.
+ */
+public record ProjectPage(List<Project> projects, String nextCursor) {}
@@ -1,19 +1,63 @@
 package com.example.project.service;
 
+import com.example.project.config.BulkInsertProperties;
+import com.example.project.config.CacheConfig;
+import com.example.project.config.PaginationProperties;
+import com.example.project.config.ProjectCache;
+import com.example.project.config.ProjectLookupProperties;
 import com.example.project.dto.ProjectCreateDto;
+import com.example.project.dto.ProjectPatchDto;
 import com.example.project.dto.ProjectUpdateDto;
 import com.example.project.entity.Project;
+import com.example.project.exception.BatchValidationException;
 import com.example.project.exception.ProjectNotFoundException;
+import com.example.project.exception.ProjectVersionConflictException;
 import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectChangeStamp;
+import com.example.project.repository.ProjectFilter;
 import com.example.project.repository.ProjectRepository;
+import com.example.project.repository.ProjectSearchHit;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Every public method runs in one transaction: read-only unless marked {@code @Transactional}. Read-only
+ * transactions flush manually, keep no dirty-checking snapshots and flag the connection read-only,
+ * which also lets them be routed to a read replica.
+ */
 @Service
+@Timed("app.service")
+@Transactional(readOnly = true)
 @Slf4j
 public class ProjectService {
     
@@ -23,13 +67,205 @@ public class ProjectService {
     @Autowired
     private ProjectMapper projectMapper;
     
-    public List<Project> getAllProjects() {
-        log.info("Retrieving all projects from database");
-        List<Project> projects = projectRepository.findAll();
+    @Autowired
+    private PaginationProperties paginationProperties;
+    
+    @Autowired
+    private BulkInsertProperties bulkInsertProperties;
+    
+    @Autowired
+    private ProjectLookupProperties lookupProperties;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Lists one page of projects matching {@code filter}. Cursors are only meaningful with the same filter.
+     */
+    @Coalesced
+    public ProjectPage getAllProjects(ProjectFilter filter, String after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.info("Retrieving projects page matching: {} after cursor: {} with limit: {}", filter, after, pageSize);
+        // Fetches one extra row to find out whether another page exists
+        List<Project> projects = projectRepository.findPage(filter, decodeCursor(after), pageSize + 1);
+        
+        String nextCursor = null;
+        if (projects.size() > pageSize) {
+            projects = projects.subList(0, pageSize);
+            nextCursor = ProjectCursor.encode(projects.get(pageSize - 1).getId());
+        }
         log.info("Successfully retrieved {} projects from database", projects.size());
-        return projects;
+        return new ProjectPage(projects, nextCursor);
+    }
+    
+    /**
+     * Like {@link #getAllProjects} but selects only {@code fields} from the database, so unrequested
+     * columns are neither read nor hydrated into entities.
+     */
+    public ProjectFieldsPage getProjectFields(ProjectFilter filter, String after, Integer limit, Set<ProjectField> fields) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.info("Retrieving fields {} of projects page matching: {} after cursor: {} with limit: {}",
+                ProjectField.names(fields), filter, after, pageSize);
+        List<Tuple> rows = projectRepository.findFields(filter, decodeCursor(after), pageSize + 1, ProjectField.attributes(fields));
+        String eTag = ProjectETags.forFields(ProjectETags.of(rows.stream().map(ProjectService::stampOf).toList(), pageSize), fields);
+        
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = ProjectCursor.encode(rows.get(pageSize - 1).get("id", Long.class));
+        }
+        log.info("Successfully retrieved {} projects from database", rows.size());
+        return new ProjectFieldsPage(rows.stream().map(row -> valuesOf(row, fields)).toList(), nextCursor, eTag);
+    }
+    
+    /**
+     * Full-text search over name and description, most relevant first, in keyset-paginated pages.
+     */
+    public ProjectPage searchProjects(String query, String after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<ProjectSearchHit> hits = findSearchHits(query, after, pageSize);
+        String nextCursor = nextSearchCursor(hits, pageSize);
+        hits = hits.subList(0, Math.min(hits.size(), pageSize));
+        
+        // Load the matched rows by primary key and restore the relevance order
+        Map<Long, Project> projectsById = projectRepository.findAllById(hits.stream().map(ProjectSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> projects = hits.stream()
+                .map(hit -> projectsById.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+        log.info("Found {} projects matching: {}", projects.size(), query);
+        return new ProjectPage(projects, nextCursor);
+    }
+    
+    /**
+     * Like {@link #searchProjects} but selects only {@code fields} of the matched projects.
+     */
+    public ProjectFieldsPage searchProjectFields(String query, String after, Integer limit, Set<ProjectField> fields) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<ProjectSearchHit> hits = findSearchHits(query, after, pageSize);
+        String nextCursor = nextSearchCursor(hits, pageSize);
+        hits = hits.subList(0, Math.min(hits.size(), pageSize));
+        
+        Map<Long, Tuple> rowsById = projectRepository.findFieldsByIds(hits.stream().map(ProjectSearchHit::getId).toList(),
+                        ProjectField.attributes(fields))
+                .stream()
+                .collect(Collectors.toMap(row -> row.get("id", Long.class), Function.identity()));
+        List<Map<String, Object>> projects = hits.stream()
+                .map(hit -> rowsById.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(row -> valuesOf(row, fields))
+                .toList();
+        log.info("Found {} projects matching: {}", projects.size(), query);
+        return new ProjectFieldsPage(projects, nextCursor, null);
+    }
+    
+    // Fetches one extra hit to find out whether another page exists
+    private List<ProjectSearchHit> findSearchHits(String query, String after, int pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        log.info("Searching projects for: {} after cursor: {} with limit: {}", query, after, pageSize);
+        if (after == null) {
+            return projectRepository.search(query, pageSize + 1);
+        }
+        ProjectCursor.SearchPosition position = ProjectCursor.decodeSearch(after);
+        return projectRepository.searchAfter(query, position.rank(), position.id(), pageSize + 1);
+    }
+    
+    private static String nextSearchCursor(List<ProjectSearchHit> hits, int pageSize) {
+        if (hits.size() <= pageSize) {
+            return null;
+        }
+        ProjectSearchHit last = hits.get(pageSize - 1);
+        return ProjectCursor.encodeSearch(last.getRank(), last.getId());
+    }
+    
+    private static ProjectChangeStamp stampOf(Tuple row) {
+        return new ProjectChangeStamp(row.get("id", Long.class), row.get("version", Long.class));
+    }
+    
+    private static Map<String, Object> valuesOf(Tuple row, Set<ProjectField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        fields.forEach(field -> values.put(field.attribute(), row.get(field.attribute())));
+        return values;
+    }
+    
+    /**
+     * Computes the entity tag of the page {@link #getAllProjects} would return
+     * by reading only ids and versions.
+     */
+    public String getProjectsETag(ProjectFilter filter, String after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Computing ETag of projects page matching: {} after cursor: {} with limit: {}", filter, after, pageSize);
+        return ProjectETags.of(projectRepository.findChangeStamps(filter, decodeCursor(after), pageSize + 1), pageSize);
+    }
+    
+    private static Long decodeCursor(String after) {
+        return after == null ? null : ProjectCursor.decode(after);
     }
     
+    /**
+     * Hands every project to {@code action} in ID order without materializing the table.
+     * Each entity is detached once consumed so the persistence context stays empty.
+     */
+    @BulkOperation
+    public void exportProjects(Consumer<Project> action) {
+        log.info("Exporting all projects");
+        long exported = 0;
+        try (Stream<Project> projects = projectRepository.streamAllOrderedById()) {
+            for (Project project : (Iterable<Project>) projects::iterator) {
+                action.accept(project);
+                entityManager.detach(project);
+                exported++;
+            }
+        }
+        log.info("Successfully exported {} projects", exported);
+    }
+    
+    /**
+     * Looks up many projects in one query. Ids that do not exist are reported as missing rather than
+     * failing the lookup; projects come back in the order of their first id in {@code ids}.
+     */
+    public ProjectLookup getProjectsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > lookupProperties.maxIds()) {
+            throw new IllegalArgumentException("Cannot look up more than " + lookupProperties.maxIds() + " projects per request");
+        }
+        log.debug("Looking up {} projects by ID", uniqueIds.size());
+        
+        Map<Long, Project> projectsById = projectRepository.findAllByIdIn(uniqueIds.toArray(Long[]::new))
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> projects = new ArrayList<>(projectsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Project project = projectsById.get(id);
+            if (project != null) {
+                projects.add(project);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("Found {} of {} projects looked up by ID", projects.size(), uniqueIds.size());
+        return new ProjectLookup(projects, missingIds);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id")
+    @Coalesced
     public Project getProjectById(Long id) {
         log.debug("Looking up project with ID: {}", id);
         Optional<Project> project = projectRepository.findById(id);
@@ -42,6 +278,7 @@ public class ProjectService {
         }
     }
     
+    @Transactional
     public Project createProject(ProjectCreateDto projectDto) {
         log.info("Creating new project: {}", projectDto.name());
         Project project = projectMapper.projectCreateDtoToProject(projectDto);
@@ -51,13 +288,86 @@ public class ProjectService {
         return savedProject;
     }
     
-    public Project updateProject(Long id, ProjectUpdateDto projectDto) {
+    /**
+     * Creates all projects in one transaction, or none of them if any item is invalid.
+     * Entities are flushed and cleared every {@code batchSize} items so each chunk goes out
+     * as a single JDBC batch and the persistence context does not grow with the request.
+     */
+    @Transactional
+    public List<Project> createProjects(List<ProjectCreateDto> projectDtos) {
+        log.info("Creating {} projects in bulk", projectDtos.size());
+        if (projectDtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one project is required");
+        }
+        if (projectDtos.size() > bulkInsertProperties.maxItems()) {
+            throw new IllegalArgumentException(
+                    "Cannot create more than " + bulkInsertProperties.maxItems() + " projects per request");
+        }
+        validateAll(projectDtos);
+        
+        int batchSize = bulkInsertProperties.batchSize();
+        List<Project> savedProjects = new ArrayList<>(projectDtos.size());
+        for (int start = 0; start < projectDtos.size(); start += batchSize) {
+            List<Project> chunk = projectDtos.subList(start, Math.min(start + batchSize, projectDtos.size())).stream()
+                    .map(projectMapper::projectCreateDtoToProject)
+                    .toList();
+            savedProjects.addAll(projectRepository.saveAll(chunk));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        log.info("Successfully created {} projects in bulk", savedProjects.size());
+        return savedProjects;
+    }
+    
+    /**
+     * {@link #createProjects} for one group of {@link ProjectGroupCommitter}. The transaction times out after
+     * {@code app.group-commit.transaction-timeout-seconds}, which bounds how long the group's callers wait.
+     */
+    @Transactional(timeoutString = "${app.group-commit.transaction-timeout-seconds:10}")
+    public List<Project> createProjectGroup(List<ProjectCreateDto> projectDtos) {
+        return createProjects(projectDtos);
+    }
+    
+    private void validateAll(List<ProjectCreateDto> projectDtos) {
+        Map<Integer, Map<String, String>> itemErrors = new TreeMap<>();
+        for (int i = 0; i < projectDtos.size(); i++) {
+            ProjectCreateDto projectDto = projectDtos.get(i);
+            if (projectDto == null) {
+                itemErrors.put(i, Map.of("project", "Project is required"));
+                continue;
+            }
+            Set<ConstraintViolation<ProjectCreateDto>> violations = validator.validate(projectDto);
+            if (!violations.isEmpty()) {
+                Map<String, String> fieldErrors = new LinkedHashMap<>();
+                violations.forEach(violation -> 
+                        fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                itemErrors.put(i, fieldErrors);
+            }
+        }
+        if (!itemErrors.isEmpty()) {
+            log.warn("Rejected bulk create: {} of {} projects are invalid", itemErrors.size(), projectDtos.size());
+            throw new BatchValidationException(itemErrors);
+        }
+    }
+    
+    /**
+     * Replaces the project's fields. When {@code expectedVersion} is given (from If-Match) the update is
+     * refused unless it is still current; the entity's @Version guards against concurrent writers either way.
+     */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id")
+    public Project updateProject(Long id, ProjectUpdateDto projectDto, Long expectedVersion) {
         log.info("Updating project with ID: {} to name: {}", id, projectDto.name());
         Project existingProject = projectRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Attempted to update non-existent project with ID: {}", id);
                     return new ProjectNotFoundException(id);
                 });
+        if (expectedVersion != null && !expectedVersion.equals(existingProject.getVersion())) {
+            log.warn("Rejected update of project with ID: {} - expected version {} but found {}", 
+                    id, expectedVersion, existingProject.getVersion());
+            throw new ProjectVersionConflictException(id);
+        }
         
         projectMapper.projectUpdateDtoToProject(projectDto, existingProject);
         Project savedProject = projectRepository.save(existingProject);
@@ -65,13 +375,74 @@ public class ProjectService {
         return savedProject;
     }
     
+    /**
+     * Applies the non-null fields of {@code patchDto} with a single conditional UPDATE and returns the new version.
+     * The project is only read again when the update matched no row, to report why. A null
+     * {@code expectedVersion} patches whichever version is current.
+     */
+    @Transactional
+    public long patchProject(Long id, ProjectPatchDto patchDto, Long expectedVersion) {
+        if (expectedVersion == null) {
+            expectedVersion = projectRepository.lockVersion(id)
+                    .orElseThrow(() -> {
+                        log.error("Attempted to patch non-existent project with ID: {}", id);
+                        return new ProjectNotFoundException(id);
+                    });
+        }
+        log.info("Patching project with ID: {} at version: {}", id, expectedVersion);
+        int updated = projectRepository.patch(id, expectedVersion, patchDto.name(), patchDto.description(), 
+                patchDto.startDate(), patchDto.endDate(), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        if (updated == 0) {
+            Project currentProject = projectRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Attempted to patch non-existent project with ID: {}", id);
+                        return new ProjectNotFoundException(id);
+                    });
+            if (!currentProject.getVersion().equals(expectedVersion)) {
+                log.warn("Rejected patch of project with ID: {} - expected version {} but found {}", 
+                        id, expectedVersion, currentProject.getVersion());
+                throw new ProjectVersionConflictException(id);
+            }
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        log.info("Successfully patched project with ID: {}", id);
+        supersedeCached(id, expectedVersion + 1);
+        return expectedVersion + 1;
+    }
+    
+    @Transactional
     public void deleteProject(Long id) {
         log.info("Deleting project with ID: {}", id);
-        if (!projectRepository.existsById(id)) {
-            log.error("Attempted to delete non-existent project with ID: {}", id);
-            throw new ProjectNotFoundException(id);
-        }
-        projectRepository.deleteById(id);
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Attempted to delete non-existent project with ID: {}", id);
+                    return new ProjectNotFoundException(id);
+                });
+        projectRepository.delete(project);
         log.info("Successfully deleted project with ID: {}", id);
+        supersedeCached(id, Long.MAX_VALUE);
+    }
+    
+    // Once the write has committed, keeps loads that read the project before it from caching what they read
+    private void supersedeCached(Long id, long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            supersede(id, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                supersede(id, version);
+            }
+        });
+    }
+    
+    private void supersede(Long id, long version) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        if (cache instanceof ProjectCache projectCache) {
+            projectCache.supersede(id, version);
+        } else if (cache != null) {
+            cache.evict(id);
+        }
     }
 }
@@ -0,0 +1,111 @@
+package com.example.project.service;
+
+import com.example.project.config.ProjectStatsProperties;
+import com.example.project.dto.ProjectStatsDto;
+import com.example.project.repository.ProjectMonthStats;
+import com.example.project.repository.ProjectRepository;
+import com.example.project.repository.ProjectStatsSummary;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule statistics for dashboards, read from the {@code project_daily_stats} materialized view
+ * rather than from {@code projects}. The view holds one row per day on which projects start or end,
+ * so a read costs the same for a hundred projects as for a million.
+ * <p>
+ * The view is refreshed concurrently, so readers never wait for it, and only after projects changed:
+ * writes through any node, imports and manual SQL all stamp {@code change_xid}, and one node at a time
+ * refreshes when a stamp is newer than the last refresh. Statistics lag writes by up to {@code refreshInterval}.
+ */
+@Service
+@Timed("app.service")
+@Transactional(readOnly = true)
+@Slf4j
+public class ProjectStatsService {
+    
+    static final int DEFAULT_MONTHS = 12;
+    
+    @Autowired
+    private ProjectRepository projectRepository;
+    
+    @Autowired
+    private ProjectStatsProperties statsProperties;
+    
+    /**
+     * Returns the statistics with projects active per month from {@code from} to {@code to}, by default
+     * the {@value #DEFAULT_MONTHS} months starting with the current one.
+     */
+    public ProjectStatsDto getStats(YearMonth from, YearMonth to) {
+        YearMonth first = from != null ? from : YearMonth.now();
+        YearMonth last = to != null ? to : first.plusMonths(DEFAULT_MONTHS - 1);
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.MONTHS.between(first, last) >= statsProperties.maxMonths()) {
+            throw new IllegalArgumentException("At most " + statsProperties.maxMonths() + " months can be requested at once");
+        }
+        log.debug("Reading project stats for {} to {}", first, last);
+        
+        LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY);
+        ProjectStatsSummary summary = projectRepository.findStatsSummary(monday, monday.plusDays(6));
+        List<ProjectMonthStats> months = projectRepository.findMonthlyStats();
+        
+        long projects = 0;
+        long durationDays = 0;
+        for (ProjectMonthStats month : months) {
+            projects += month.getEnding();
+            durationDays += month.getDurationDays();
+        }
+        Double averageDurationDays = projects == 0 ? null : (double) durationDays / projects;
+        return new ProjectStatsDto(projects, averageDurationDays, summary.getEndingBetween(),
+                activePerMonth(months, first, last), summary.getRefreshedAt());
+    }
+    
+    // A project runs in a month if it started by the month's end and did not end before its start:
+    // all projects started so far, less those that ended in earlier months
+    private List<ProjectStatsDto.MonthActivity> activePerMonth(List<ProjectMonthStats> months, YearMonth first, YearMonth last) {
+        List<ProjectStatsDto.MonthActivity> activity = new ArrayList<>();
+        int next = 0;
+        long startedBefore = 0;
+        long endedBefore = 0;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            while (next < months.size() && YearMonth.from(months.get(next).getMonth()).isBefore(month)) {
+                startedBefore += months.get(next).getStarting();
+                endedBefore += months.get(next).getEnding();
+                next++;
+            }
+            long startingNow = next < months.size() && YearMonth.from(months.get(next).getMonth()).equals(month)
+                    ? months.get(next).getStarting()
+                    : 0;
+            activity.add(new ProjectStatsDto.MonthActivity(month, startedBefore + startingNow - endedBefore));
+        }
+        return activity;
+    }
+    
+    /**
+     * Refreshes the view if projects changed since the last refresh and no other node is refreshing it.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.refresh-interval}")
+    @Transactional
+    public void refreshIfStale() {
+        if (!projectRepository.tryLockStatsRefresh() || !projectRepository.isStatsStale()) {
+            return;
+        }
+        long start = System.nanoTime();
+        projectRepository.markStatsRefreshed();
+        projectRepository.refreshStats();
+        log.debug("Refreshed project stats in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
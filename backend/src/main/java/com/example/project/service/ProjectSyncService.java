@@ -0,0 +1,119 @@
+package com.example.project.service;
+
+import com.example.project.config.PaginationProperties;
+import com.example.project.config.PrimaryOnly;
+import com.example.project.config.ProjectSyncProperties;
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.dto.ProjectChangesDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.SyncTokenExpiredException;
+import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectChangeRow;
+import com.example.project.repository.ProjectRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync: the projects written and deleted since a sync token, so that clients keep a local copy
+ * current at a cost that follows churn rather than catalog size.
+ * <p>
+ * Changes are read in the order of the transactions that wrote them ({@code change_xid}). A sync round
+ * pages through everything at or after its starting point and remembers its horizon: the oldest
+ * transaction still running at any of its pages. Transactions commit out of order, so the next round
+ * starts from that horizon rather than from where the last one stopped. Changes may therefore be sent
+ * twice, with the same version, but none is skipped.
+ * <p>
+ * That only holds on the primary. A lagging replica would report a horizon, and rows after it, that the
+ * primary has long moved past, so the next token could jump over changes the replica had not applied yet.
+ */
+@Service
+@Timed("app.service")
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+@PrimaryOnly
+@Slf4j
+public class ProjectSyncService {
+    
+    @Autowired
+    private ProjectRepository projectRepository;
+    
+    @Autowired
+    private ProjectMapper projectMapper;
+    
+    @Autowired
+    private PaginationProperties paginationProperties;
+    
+    @Autowired
+    private ProjectSyncProperties syncProperties;
+    
+    /**
+     * Returns up to {@code limit} changes after {@code since}, or, without a token, every project.
+     * Repeatable read puts the snapshot horizon and the rows read in the same snapshot.
+     */
+    public ProjectChangesDto getChanges(String since, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        ProjectCursor.SyncPosition position = since == null
+                ? ProjectCursor.SyncPosition.INITIAL
+                : ProjectCursor.decodeSync(since);
+        if (!position.full() && position.afterXid() <= Long.parseLong(projectRepository.findPrunedTombstoneXid())) {
+            throw new SyncTokenExpiredException("Sync token is older than the retained deletions; sync again without since");
+        }
+        long snapshotXmin = Long.parseLong(projectRepository.findSnapshotXmin());
+        long horizon = position.horizon() == null ? snapshotXmin : Math.min(position.horizon(), snapshotXmin);
+        log.debug("Reading project changes after {} with limit: {}", position, pageSize);
+        
+        List<ProjectChangeRow> rows = projectRepository.findChangesAfter(
+                Long.toString(position.afterXid()), position.afterId(), !position.full(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        rows = rows.subList(0, Math.min(rows.size(), pageSize));
+        
+        Map<Long, Project> projectsById = projectRepository.findAllById(rows.stream()
+                        .filter(row -> !row.getDeleted())
+                        .map(ProjectChangeRow::getId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<ProjectChangeDto> changes = rows.stream()
+                .map(row -> changeOf(row, projectsById.get(row.getId())))
+                .toList();
+        
+        ProjectCursor.SyncPosition next;
+        if (hasMore) {
+            ProjectChangeRow last = rows.getLast();
+            next = new ProjectCursor.SyncPosition(Long.parseLong(last.getChangeXid()), last.getId(), horizon, position.full());
+        } else {
+            next = new ProjectCursor.SyncPosition(horizon, 0, null, false);
+        }
+        log.info("Returning {} project changes, more: {}", changes.size(), hasMore);
+        return new ProjectChangesDto(changes, ProjectCursor.encodeSync(next), hasMore);
+    }
+    
+    private ProjectChangeDto changeOf(ProjectChangeRow row, Project project) {
+        if (row.getDeleted()) {
+            return new ProjectChangeDto(ProjectChangeDto.DELETED, row.getId(), row.getVersion(), null);
+        }
+        String type = row.getVersion() == 0 ? ProjectChangeDto.CREATED : ProjectChangeDto.UPDATED;
+        return new ProjectChangeDto(type, row.getId(), row.getVersion(), projectMapper.projectToProjectDto(project));
+    }
+    
+    /**
+     * Drops tombstones past the retention period. Clients holding tokens from before them must sync again from scratch.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.prune-interval}", initialDelayString = "${app.sync.prune-interval}")
+    @Transactional
+    public void pruneTombstones() {
+        long pruned = projectRepository.pruneTombstones(syncProperties.tombstoneRetention().toSeconds());
+        if (pruned > 0) {
+            log.info("Pruned {} project tombstones older than {}", pruned, syncProperties.tombstoneRetention());
+        }
+    }
+}
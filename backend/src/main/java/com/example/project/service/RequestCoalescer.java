@@ -0,0 +1,107 @@
+package com.example.project.service;
+
+import com.example.project.entity.Project;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for {@link Coalesced} reads: while a call is loading, further calls with equal arguments
+ * wait for its result (or its exception) instead of querying again. A burst of requests for one hot
+ * project, or for the first page of the list, then costs the database one query however many arrive,
+ * with or without the cache.
+ * <p>
+ * Callers only join a load that is still running; once it finishes the next call loads afresh, so a
+ * caller sees data at most as old as a load that started shortly before it, as with a cache hit.
+ * Every caller gets a result of its own: projects and project pages are copied for each waiting caller from
+ * a snapshot taken before the loading caller gets the original, so no caller sees changes made by another.
+ * Other results are shared, and must be immutable.
+ */
+@Aspect
+@Component
+@Order(RequestCoalescer.ORDER)
+public class RequestCoalescer {
+    
+    /**
+     * Inside the cache advisor, so only misses are coalesced, and outside the database limiter,
+     * so waiting callers hold neither a permit nor a connection.
+     */
+    public static final int ORDER = DatabaseConcurrencyLimiter.ORDER - 1;
+    
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Map<Method, Counter> loads = new ConcurrentHashMap<>();
+    
+    private final Map<Method, Counter> coalesced = new ConcurrentHashMap<>();
+    
+    private final MeterRegistry meterRegistry;
+    
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("@annotation(com.example.project.service.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint call) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        Key key = new Key(method, Arrays.asList(call.getArgs()));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            counter(coalesced, method, "app.coalescing.coalesced",
+                    "Calls that shared the result of an identical call already in flight").increment();
+            try {
+                return copyOf(running.join());
+            } catch (CompletionException ex) {
+                throw ex.getCause();
+            }
+        }
+        counter(loads, method, "app.coalescing.loads",
+                "Coalescable calls that went on to load").increment();
+        Object result;
+        try {
+            result = call.proceed();
+        } catch (Throwable ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        // Unpublished before completing, so that no caller joins a load that has already finished
+        inFlight.remove(key, flight);
+        flight.complete(copyOf(result));
+        return result;
+    }
+    
+    private static Object copyOf(Object result) {
+        return switch (result) {
+            case Project project -> project.copy();
+            case ProjectPage page -> new ProjectPage(page.projects().stream().map(Project::copy).toList(), page.nextCursor());
+            case null, default -> result;
+        };
+    }
+    
+    int inFlight() {
+        return inFlight.size();
+    }
+    
+    private Counter counter(Map<Method, Counter> counters, Method method, String name, String description) {
+        return counters.computeIfAbsent(method, m -> Counter.builder(name)
+                .description(description)
+                .tag("method", m.getName())
+                .register(meterRegistry));
+    }
+    
+    private record Key(Method method, List<Object> args) {}
+}
@@ -0,0 +1,4 @@
+-- Switch project id generation from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- The pooled optimizer hands out a block of ids per nextval() call, so the sequence increment
+-- must match the allocationSize declared on Project.id.
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Version counter for optimistic locking; bumped by every update
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
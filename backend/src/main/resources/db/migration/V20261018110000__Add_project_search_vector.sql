@@ -0,0 +1,8 @@
+-- Full-text search over name (weight A) and description (weight B).
+-- The generated column keeps the vector in sync on every write; the GIN index answers @@ matches.
+ALTER TABLE projects ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_projects_search_vector ON projects USING GIN (search_vector);
@@ -0,0 +1,28 @@
+-- daterange() rejects a lower bound above the upper bound, so the index below needs ordered dates.
+-- Rows written before the API checked schedules (direct SQL, old imports) are not rewritten here:
+-- the migration stops and names them, to be corrected by their owners before it is run again
+DO $$
+DECLARE
+    reversed text;
+BEGIN
+    SELECT string_agg(id::text, ', ' ORDER BY id) INTO reversed
+    FROM (SELECT id FROM projects WHERE end_date < start_date ORDER BY id LIMIT 100) r;
+    IF reversed IS NOT NULL THEN
+        RAISE EXCEPTION 'Projects ending before they start: %', reversed
+            USING HINT = 'Correct their start_date/end_date, then rerun the migration';
+    END IF;
+END $$;
+
+ALTER TABLE projects
+    ADD CONSTRAINT chk_projects_schedule_ordered CHECK (end_date >= start_date);
+
+-- Same rule as ProjectCreateDto, ProjectUpdateDto and ProjectService.patchProject, for new writes only:
+-- existing single-day schedules are valid ranges and stay as they are
+ALTER TABLE projects
+    ADD CONSTRAINT chk_projects_schedule CHECK (end_date > start_date) NOT VALID;
+
+-- Serves overlap (&&) and strictly-before (<<) filters on the inclusive project schedule
+CREATE INDEX idx_projects_schedule ON projects USING GIST (daterange(start_date, end_date, '[]'));
+
+-- Collect statistics on the indexed expression now; without them the planner misjudges range selectivity
+ANALYZE projects;
@@ -0,0 +1,82 @@
+-- Publishes changes to projects on the project_changes channel for the SSE change feed.
+-- Postgres delivers notifications at commit, in commit order, to every session listening on the
+-- primary, so each API node sees writes made through any other node.
+--
+-- The triggers run once per statement and read the changed rows from transition tables. A transaction
+-- that changes more than max_events projects (imports, /batch, group commits, bulk SQL) sends a single
+-- resync instead of the rest of its events: subscribers would fall behind and be told to resync anyway.
+-- The count is kept in a transaction-local setting, and identical resyncs of one transaction are merged.
+CREATE FUNCTION notify_project_changes() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    max_events CONSTANT INTEGER := 100;
+    notified INTEGER := coalesce(nullif(current_setting('app.project_change_events', true), ''), '0')::INTEGER;
+    changed INTEGER;
+    change RECORD;
+    payload TEXT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT count(*) INTO changed FROM old_rows;
+    ELSE
+        SELECT count(*) INTO changed FROM new_rows;
+    END IF;
+    IF changed = 0 THEN
+        RETURN NULL;
+    END IF;
+
+    IF notified + changed > max_events THEN
+        PERFORM set_config('app.project_change_events', (max_events + 1)::TEXT, true);
+        PERFORM pg_notify('project_changes', json_build_object('type', 'resync')::text);
+        RETURN NULL;
+    END IF;
+    PERFORM set_config('app.project_change_events', (notified + changed)::TEXT, true);
+
+    IF TG_OP = 'DELETE' THEN
+        FOR change IN SELECT id, version FROM old_rows ORDER BY id LOOP
+            PERFORM pg_notify('project_changes',
+                json_build_object('type', 'deleted', 'id', change.id, 'version', change.version)::text);
+        END LOOP;
+        RETURN NULL;
+    END IF;
+
+    FOR change IN SELECT id, version, name, description, start_date, end_date FROM new_rows ORDER BY id LOOP
+        payload := json_build_object(
+            'type', CASE TG_OP WHEN 'INSERT' THEN 'created' ELSE 'updated' END,
+            'id', change.id,
+            'version', change.version,
+            'project', json_build_object(
+                'id', change.id,
+                'name', change.name,
+                'description', change.description,
+                'startDate', change.start_date,
+                'endDate', change.end_date))::text;
+        -- pg_notify rejects payloads of 8000 bytes or more, which would fail the write itself; heavily
+        -- escaped text can get there, and then subscribers get the id and version and fetch the project
+        IF octet_length(payload) >= 8000 THEN
+            payload := json_build_object(
+                'type', CASE TG_OP WHEN 'INSERT' THEN 'created' ELSE 'updated' END,
+                'id', change.id,
+                'version', change.version)::text;
+        END IF;
+        PERFORM pg_notify('project_changes', payload);
+    END LOOP;
+    RETURN NULL;
+END
+$$;
+
+-- Transition tables allow one event per trigger
+CREATE TRIGGER trg_projects_notify_insert
+    AFTER INSERT ON projects
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_project_changes();
+
+CREATE TRIGGER trg_projects_notify_update
+    AFTER UPDATE ON projects
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_project_changes();
+
+CREATE TRIGGER trg_projects_notify_delete
+    AFTER DELETE ON projects
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_project_changes();
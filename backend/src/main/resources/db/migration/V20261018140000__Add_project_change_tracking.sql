@@ -0,0 +1,54 @@
+-- Delta sync (GET /api/projects/changes) reads changes in the order of the transactions that made them.
+-- change_xid is the id of the last transaction that wrote the row. Unlike updated_at it can be checked
+-- against a snapshot, which tells which transactions may still commit, so a change is never skipped
+-- because its transaction committed after a later one.
+ALTER TABLE projects ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE FUNCTION stamp_project_change() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_projects_stamp_change
+    BEFORE INSERT OR UPDATE ON projects
+    FOR EACH ROW EXECUTE FUNCTION stamp_project_change();
+
+-- Keyset order of the sync scan
+CREATE INDEX idx_projects_change ON projects (change_xid, id);
+
+-- Deleted ids, so that syncing clients learn about deletions. Pruned after app.sync.tombstone-retention
+CREATE TABLE project_tombstones (
+    id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    change_xid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_project_tombstones_change ON project_tombstones (change_xid, id);
+
+CREATE FUNCTION record_project_tombstone() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO project_tombstones (id, version) VALUES (OLD.id, OLD.version)
+    ON CONFLICT (id) DO UPDATE SET version = EXCLUDED.version,
+                                   change_xid = EXCLUDED.change_xid,
+                                   deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END
+$$;
+
+CREATE TRIGGER trg_projects_record_tombstone
+    AFTER DELETE ON projects
+    FOR EACH ROW EXECUTE FUNCTION record_project_tombstone();
+
+-- Newest change_xid among pruned tombstones; sync tokens at or before it may have missed a deletion
+CREATE TABLE project_sync_horizon (
+    pruned_xid xid8 NOT NULL
+);
+
+INSERT INTO project_sync_horizon (pruned_xid) VALUES ('0');
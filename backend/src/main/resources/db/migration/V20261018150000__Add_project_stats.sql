@@ -0,0 +1,30 @@
+-- Pre-aggregated schedule statistics for GET /api/projects/stats: per day, how many projects start,
+-- how many end and their total duration. Its size follows the calendar, not the number of projects,
+-- and every statistic is a sum over a range of days. Projects without dates, which only direct SQL
+-- can create, are left out.
+CREATE MATERIALIZED VIEW project_daily_stats AS
+SELECT day,
+       CAST(sum(starting) AS BIGINT) AS starting,
+       CAST(sum(ending) AS BIGINT) AS ending,
+       CAST(sum(duration_days) AS BIGINT) AS ending_duration_days
+FROM (
+    SELECT start_date AS day, 1 AS starting, 0 AS ending, 0 AS duration_days
+    FROM projects WHERE start_date IS NOT NULL AND end_date IS NOT NULL
+    UNION ALL
+    SELECT end_date, 0, 1, end_date - start_date
+    FROM projects WHERE start_date IS NOT NULL AND end_date IS NOT NULL
+) days
+GROUP BY day;
+
+-- REFRESH MATERIALIZED VIEW CONCURRENTLY requires a unique index; reads use it for day ranges
+CREATE UNIQUE INDEX idx_project_daily_stats_day ON project_daily_stats (day);
+
+-- When the view was last refreshed, and the snapshot xmin it was refreshed at: any change with a
+-- change_xid at or above it may be missing from the view
+CREATE TABLE project_stats_refresh (
+    refreshed_at TIMESTAMP NOT NULL,
+    snapshot_xmin xid8 NOT NULL
+);
+
+INSERT INTO project_stats_refresh (refreshed_at, snapshot_xmin)
+VALUES (CURRENT_TIMESTAMP, pg_snapshot_xmin(pg_current_snapshot()));
@@ -0,0 +1,92 @@
+package com.example.project.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        LogSamplingFilter filter = new LogSamplingFilter();
+        filter.addLogger("com.example.project.service");
+        filter.setMaxPerSecond(2);
+        filter.setClock(now::get);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void shouldCapInfoLinesPerSecondForConfiguredLoggers() {
+        // Given
+        Logger logger = context.getLogger("com.example.project.service.ProjectService");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            logger.info("Retrieving project {}", i);
+        }
+        now.addAndGet(1000);
+        logger.info("Retrieving project {}", 5);
+
+        // Then
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("Retrieving project 0", "Retrieving project 1", "Retrieving project 5");
+    }
+
+    @Test
+    void shouldAlwaysPassWarningsAndOtherLoggers() {
+        // Given
+        Logger sampled = context.getLogger("com.example.project.service.ProjectService");
+        Logger other = context.getLogger("com.example.project.controller.ProjectController");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            sampled.info("info");
+            sampled.warn("warn");
+            other.info("other");
+        }
+
+        // Then
+        assertThat(appender.list).filteredOn(event -> event.getMessage().equals("warn")).hasSize(3);
+        assertThat(appender.list).filteredOn(event -> event.getMessage().equals("other")).hasSize(3);
+        assertThat(appender.list).filteredOn(event -> event.getMessage().equals("info")).hasSize(2);
+    }
+
+    @Test
+    void shouldNotSpendBudgetOnDisabledLevelsOrLevelChecks() {
+        // Given
+        Logger logger = context.getLogger("com.example.project.service.ProjectService");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            logger.debug("debug");
+            logger.isInfoEnabled();
+        }
+        logger.info("first");
+        logger.info("second");
+
+        // Then
+        assertThat(appender.list).extracting(ILoggingEvent::getMessage).containsExactly("first", "second");
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaDataSourceTest {
+
+    private static final Duration HEALTH_CHECK_INTERVAL = Duration.ofMillis(10);
+
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+
+    private final HikariDataSource firstReplica = mock(HikariDataSource.class);
+
+    private final HikariDataSource secondReplica = mock(HikariDataSource.class);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final List<ReadReplicaDataSource> dataSources = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (HikariDataSource pool : List.of(primary, firstReplica, secondReplica)) {
+            when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Stops the health checks of replicas a test took down
+        dataSources.forEach(ReadReplicaDataSource::close);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldSendReadOnlyWorkToReplicasInTurn() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            read(dataSource);
+        }
+
+        // Then
+        verify(firstReplica, times(2)).getConnection();
+        verify(secondReplica, times(2)).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void shouldKeepReadWriteWorkOnPrimary() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        // Then
+        verify(primary).getConnection();
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void shouldPickReplicaWithFewestActiveConnections() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.LEAST_CONNECTIONS, Duration.ZERO);
+        HikariPoolMXBean busy = mock(HikariPoolMXBean.class);
+        HikariPoolMXBean idle = mock(HikariPoolMXBean.class);
+        when(busy.getActiveConnections()).thenReturn(5);
+        when(idle.getActiveConnections()).thenReturn(1);
+        when(firstReplica.getHikariPoolMXBean()).thenReturn(busy);
+        when(secondReplica.getHikariPoolMXBean()).thenReturn(idle);
+
+        // When
+        read(dataSource);
+        read(dataSource);
+
+        // Then
+        verify(secondReplica, times(2)).getConnection();
+        verify(firstReplica, never()).getConnection();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWithinReadYourWritesWindow() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ofSeconds(2));
+        commitWrite(dataSource);
+
+        // When
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        read(dataSource);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        read(dataSource);
+
+        // Then
+        verify(primary).getConnection();
+        verify(firstReplica).getConnection();
+        verifyNoInteractions(secondReplica);
+    }
+
+    @Test
+    void shouldKeepPrimaryOnlyReadsOnPrimary() throws Throwable {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.proceed()).thenAnswer(invocation -> {
+            read(dataSource);
+            return null;
+        });
+
+        // When
+        new PrimaryOnlyRouting().route(call);
+        read(dataSource);
+
+        // Then
+        verify(primary).getConnection();
+        verify(firstReplica).getConnection();
+        verifyNoInteractions(secondReplica);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnavailable() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        read(dataSource);
+
+        // Then
+        verify(firstReplica).getConnection();
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void shouldFollowRoutePinnedByLimiter() throws SQLException {
+        // Given
+        ReplicaRouting routing = new ReplicaRouting(replicaProperties(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO), now::get);
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO, routing);
+
+        // When
+        routing.pin(false);
+        try {
+            read(dataSource);
+        } finally {
+            routing.unpin();
+        }
+
+        // Then
+        verify(primary).getConnection();
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void shouldReportFallbackOfPinnedReplicaRead() throws SQLException {
+        // Given
+        ReplicaRouting routing = new ReplicaRouting(replicaProperties(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO), now::get);
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO, routing);
+        Runnable fallback = mock(Runnable.class);
+        routing.onPrimaryFallback(fallback);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        routing.pin(true);
+        try {
+            read(dataSource);
+        } finally {
+            routing.unpin();
+        }
+
+        // Then
+        verify(fallback).run();
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void shouldSkipFailedReplicaUntilItRecovers() throws Exception {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+        CountDownLatch checked = new CountDownLatch(1);
+        when(firstReplica.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenAnswer(invocation -> {
+                    checked.await();
+                    Connection connection = mock(Connection.class);
+                    when(connection.isValid(anyInt())).thenReturn(true);
+                    return connection;
+                });
+        read(dataSource);
+
+        // When
+        read(dataSource);
+        read(dataSource);
+
+        // Then
+        verify(secondReplica, times(2)).getConnection();
+        verify(primary).getConnection();
+
+        checked.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (dataSource.chooseReplica() == secondReplica && System.nanoTime() < deadline) {
+            Thread.sleep(HEALTH_CHECK_INTERVAL);
+        }
+        assertThat(List.of(dataSource.chooseReplica(), dataSource.chooseReplica())).contains(firstReplica);
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhileEveryReplicaIsDown() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        read(dataSource);
+        read(dataSource);
+
+        // When
+        read(dataSource);
+
+        // Then
+        verify(primary, times(3)).getConnection();
+        assertThat(dataSource.chooseReplica()).isNull();
+    }
+
+    @Test
+    void shouldPassCredentialsToReplica() throws SQLException {
+        // Given
+        ReadReplicaDataSource dataSource = dataSource(ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO);
+        when(firstReplica.getConnection("reporting", "secret")).thenAnswer(invocation -> mock(Connection.class));
+
+        // When
+        try (Connection connection = dataSource.getConnection("reporting", "secret")) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        // Then
+        verify(firstReplica).getConnection("reporting", "secret");
+        verifyNoInteractions(primary, secondReplica);
+    }
+
+    private ReadReplicaDataSource dataSource(ReadReplicaProperties.Balancing balancing, Duration window) {
+        return dataSource(balancing, window, new ReplicaRouting(replicaProperties(balancing, window), now::get));
+    }
+
+    private ReadReplicaDataSource dataSource(ReadReplicaProperties.Balancing balancing, Duration window, ReplicaRouting routing) {
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                replicaProperties(balancing, window), routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private static ReadReplicaProperties replicaProperties(ReadReplicaProperties.Balancing balancing, Duration window) {
+        return new ReadReplicaProperties(List.of("replica-1", "replica-2"), balancing, window,
+                Duration.ofSeconds(1), HEALTH_CHECK_INTERVAL);
+    }
+
+    // What a read-only transaction does: flag the connection, then run a statement
+    private static void read(ReadReplicaDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+    }
+
+    private void commitWrite(ReadReplicaDataSource dataSource) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        clearInvocations(primary);
+    }
+}
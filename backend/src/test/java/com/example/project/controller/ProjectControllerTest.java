@@ -1,12 +1,32 @@
 package com.example.project.controller;
 
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.dto.ProjectChangesDto;
 import com.example.project.dto.ProjectCreateDto;
 import com.example.project.dto.ProjectDto;
+import com.example.project.dto.ProjectImportResultDto;
+import com.example.project.dto.ProjectPatchDto;
+import com.example.project.dto.ProjectStatsDto;
 import com.example.project.dto.ProjectUpdateDto;
 import com.example.project.entity.Project;
+import com.example.project.exception.BatchValidationException;
+import com.example.project.exception.ChangeFeedFullException;
 import com.example.project.exception.ProjectNotFoundException;
+import com.example.project.exception.ProjectVersionConflictException;
+import com.example.project.exception.RateLimitExceededException;
+import com.example.project.exception.SyncTokenExpiredException;
 import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectFilter;
+import com.example.project.service.ProjectChangeFeed;
+import com.example.project.service.ProjectETags;
+import com.example.project.service.ProjectField;
+import com.example.project.service.ProjectFieldsPage;
+import com.example.project.service.ProjectImportService;
+import com.example.project.service.ProjectLookup;
+import com.example.project.service.ProjectPage;
 import com.example.project.service.ProjectService;
+import com.example.project.service.ProjectStatsService;
+import com.example.project.service.ProjectSyncService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,13 +35,27 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +70,18 @@ class ProjectControllerTest {
     @MockitoBean
     private ProjectService projectService;
 
+    @MockitoBean
+    private ProjectImportService projectImportService;
+
+    @MockitoBean
+    private ProjectChangeFeed projectChangeFeed;
+
+    @MockitoBean
+    private ProjectSyncService projectSyncService;
+
+    @MockitoBean
+    private ProjectStatsService projectStatsService;
+
     @MockitoBean
     private ProjectMapper projectMapper;
 
@@ -52,7 +98,8 @@ class ProjectControllerTest {
         ProjectDto dto2 = new ProjectDto(2L, "Project 2", "Description 2", 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
 
-        when(projectService.getAllProjects()).thenReturn(List.of(project1, project2));
+        when(projectService.getAllProjects(ProjectFilter.NONE, null, null))
+                .thenReturn(new ProjectPage(List.of(project1, project2), null));
         when(projectMapper.projectToProjectDto(project1)).thenReturn(dto1);
         when(projectMapper.projectToProjectDto(project2)).thenReturn(dto2);
 
@@ -60,11 +107,259 @@ class ProjectControllerTest {
         mockMvc.perform(get("/api/projects"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].name").value("Project 1"))
                 .andExpect(jsonPath("$[1].name").value("Project 2"));
     }
 
+    @Test
+    void shouldExposeNextCursorHeader() throws Exception {
+        // Given
+        Project project = createTestProject(1L, "Project 1");
+        ProjectDto dto = new ProjectDto(1L, "Project 1", "Description 1", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+
+        when(projectService.getAllProjects(ProjectFilter.NONE, "abc", 1)).thenReturn(new ProjectPage(List.of(project), "def"));
+        when(projectMapper.projectToProjectDto(project)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects").param("after", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldFilterProjectsBySchedule() throws Exception {
+        // Given
+        ProjectFilter filter = new ProjectFilter(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31),
+                null, LocalDate.of(2025, 12, 31));
+        when(projectService.getAllProjects(filter, null, null)).thenReturn(new ProjectPage(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects")
+                        .param("activeFrom", "2025-01-01")
+                        .param("activeTo", "2025-03-31")
+                        .param("endsBefore", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void shouldReturn400WhenDateFilterIsMalformed() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/projects").param("activeFrom", "next week"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("/problems/invalid-argument"))
+                .andExpect(jsonPath("$.detail").value("Invalid value for parameter 'activeFrom': next week"));
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedFields() throws Exception {
+        // Given
+        when(projectService.getProjectFields(ProjectFilter.NONE, null, null, ProjectField.parse("name")))
+                .thenReturn(new ProjectFieldsPage(List.of(Map.of("id", 1L, "name", "Project 1")), "next", "abc"));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Project 1"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+        verify(projectService, never()).getAllProjects(any(), any(), any());
+    }
+
+    @Test
+    void shouldReturn400ForUnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/projects").param("fields", "name,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("/problems/invalid-argument"));
+    }
+
+    @Test
+    void shouldSearchProjects() throws Exception {
+        // Given
+        Project project = createTestProject(1L, "Mobile App");
+        ProjectDto dto = new ProjectDto(1L, "Mobile App", "Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+
+        when(projectService.searchProjects("mobile", null, null)).thenReturn(new ProjectPage(List.of(project), "next"));
+        when(projectMapper.projectToProjectDto(project)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/search").param("q", "mobile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].name").value("Mobile App"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExportProjectsAsNdjson() throws Exception {
+        // Given
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project2 = createTestProject(2L, "Project 2");
+        ProjectDto dto1 = new ProjectDto(1L, "Project 1", "Description 1", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        ProjectDto dto2 = new ProjectDto(2L, "Project 2", "Description 2", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+
+        doAnswer(invocation -> {
+            Consumer<Project> action = invocation.getArgument(0);
+            action.accept(project1);
+            action.accept(project2);
+            return null;
+        }).when(projectService).exportProjects(any(Consumer.class));
+        when(projectMapper.projectToProjectDto(project1)).thenReturn(dto1);
+        when(projectMapper.projectToProjectDto(project2)).thenReturn(dto2);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/projects/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], ProjectDto.class).name()).isEqualTo("Project 2");
+    }
+
+    @Test
+    void shouldRejectUnsupportedExportFormat() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/projects/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldOpenChangeStream() throws Exception {
+        // Given
+        when(projectChangeFeed.subscribe()).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldReturn503WhenChangeFeedIsFull() throws Exception {
+        // Given
+        when(projectChangeFeed.subscribe()).thenThrow(new ChangeFeedFullException("Too many open change streams"));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.type").value("/problems/service-busy"));
+    }
+
+    @Test
+    void shouldGetProjectChanges() throws Exception {
+        // Given
+        ProjectDto dto = new ProjectDto(1L, "Project 1", "Description 1", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        ProjectChangesDto changes = new ProjectChangesDto(List.of(
+                new ProjectChangeDto(ProjectChangeDto.UPDATED, 1L, 2L, dto),
+                new ProjectChangeDto(ProjectChangeDto.DELETED, 2L, 0L, null)), "next-token", false);
+        when(projectSyncService.getChanges("token", 10)).thenReturn(changes);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/changes").param("since", "token").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].type").value("updated"))
+                .andExpect(jsonPath("$.changes[0].project.name").value("Project 1"))
+                .andExpect(jsonPath("$.changes[1].type").value("deleted"))
+                .andExpect(jsonPath("$.changes[1].project").doesNotExist())
+                .andExpect(jsonPath("$.syncToken").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void shouldReturn410WhenSyncTokenExpired() throws Exception {
+        // Given
+        when(projectSyncService.getChanges("old", null))
+                .thenThrow(new SyncTokenExpiredException("Sync token is older than the retained deletions"));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/changes").param("since", "old"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.type").value("/problems/sync-token-expired"));
+    }
+
+    @Test
+    void shouldGetProjectStats() throws Exception {
+        // Given
+        ProjectStatsDto stats = new ProjectStatsDto(3, 45.5, 1, 
+                List.of(new ProjectStatsDto.MonthActivity(YearMonth.of(2030, 1), 2)), 
+                LocalDateTime.of(2030, 1, 15, 10, 30));
+        when(projectStatsService.getStats(YearMonth.of(2030, 1), YearMonth.of(2030, 1))).thenReturn(stats);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/stats").param("from", "2030-01").param("to", "2030-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalProjects").value(3))
+                .andExpect(jsonPath("$.averageDurationDays").value(45.5))
+                .andExpect(jsonPath("$.endingThisWeek").value(1))
+                .andExpect(jsonPath("$.activePerMonth[0].month").value("2030-01"))
+                .andExpect(jsonPath("$.activePerMonth[0].activeProjects").value(2))
+                .andExpect(jsonPath("$.refreshedAt").value("2030-01-15T10:30:00"));
+    }
+
+    @Test
+    void shouldLookUpProjectsByIds() throws Exception {
+        // Given
+        Project project = createTestProject(1L, "Project 1");
+        ProjectDto dto = new ProjectDto(1L, "Project 1", "Description 1", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        when(projectService.getProjectsByIds(List.of(1L, 2L))).thenReturn(new ProjectLookup(List.of(project), List.of(2L)));
+        when(projectMapper.projectToProjectDto(project)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/lookup").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects.length()").value(1))
+                .andExpect(jsonPath("$.projects[0].name").value("Project 1"))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+        mockMvc.perform(post("/api/projects/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+    }
+
+    @Test
+    void shouldReturn400ForLookupWithoutIds() throws Exception {
+        // Given
+        when(projectService.getProjectsByIds(null)).thenThrow(new IllegalArgumentException("At least one id is required"));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/lookup"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("At least one id is required"));
+    }
+
+    @Test
+    void shouldReturn429WhenRateLimited() throws Exception {
+        // Given
+        when(projectService.getProjectById(1L))
+                .thenThrow(new RateLimitExceededException("Too many requests; retry later", Duration.ofMillis(1500)));
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.type").value("/problems/rate-limited"));
+    }
+
     @Test
     void shouldGetProjectById() throws Exception {
         // Given
@@ -79,10 +374,38 @@ class ProjectControllerTest {
         mockMvc.perform(get("/api/projects/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"" + ProjectETags.of(project) + "\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Test Project"));
     }
 
+    @Test
+    void shouldReturn304WhenProjectUnchanged() throws Exception {
+        // Given
+        Project project = createTestProject(1L, "Test Project");
+        String eTag = "\"" + ProjectETags.of(project) + "\"";
+        
+        when(projectService.getProjectById(1L)).thenReturn(project);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+        verify(projectMapper, never()).projectToProjectDto(any());
+    }
+
+    @Test
+    void shouldReturn304WhenPageUnchanged() throws Exception {
+        // Given
+        when(projectService.getProjectsETag(ProjectFilter.NONE, null, null)).thenReturn("abc");
+
+        // When & Then
+        mockMvc.perform(get("/api/projects").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+        verify(projectService, never()).getAllProjects(any(), any(), any());
+    }
+
     @Test
     void shouldReturn404WhenProjectNotFound() throws Exception {
         // Given
@@ -115,6 +438,59 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.name").value("New Project"));
     }
 
+    @Test
+    void shouldCreateProjectsInBulk() throws Exception {
+        // Given
+        ProjectCreateDto createDto = new ProjectCreateDto("New Project", "New Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        Project createdProject = createTestProject(1L, "New Project");
+        ProjectDto dto = new ProjectDto(1L, "New Project", "New Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        
+        when(projectService.createProjects(anyList())).thenReturn(List.of(createdProject));
+        when(projectMapper.projectToProjectDto(createdProject)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(post("/api/projects/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(createDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("New Project"));
+    }
+
+    @Test
+    void shouldReturnItemErrorsForInvalidBulkCreate() throws Exception {
+        // Given
+        ProjectCreateDto createDto = new ProjectCreateDto("X", "New Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        
+        when(projectService.createProjects(anyList())).thenThrow(new BatchValidationException(
+                Map.of(0, Map.of("name", "Name must be between 3 and 100 characters"))));
+
+        // When & Then
+        mockMvc.perform(post("/api/projects/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(createDto))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("/problems/validation-error"))
+                .andExpect(jsonPath("$.itemErrors.0.name").value("Name must be between 3 and 100 characters"));
+    }
+
+    @Test
+    void shouldImportProjectsFromCsv() throws Exception {
+        // Given
+        when(projectImportService.importCsv(any(InputStream.class))).thenReturn(new ProjectImportResultDto(2, 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/projects/import")
+                .contentType("text/csv")
+                .content("name,description,startDate,endDate\nProject A,,2030-01-01,2030-02-01\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
     @Test
     void shouldUpdateProject() throws Exception {
         // Given
@@ -124,7 +500,7 @@ class ProjectControllerTest {
         ProjectDto dto = new ProjectDto(1L, "Updated Project", "Updated Description", 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
         
-        when(projectService.updateProject(anyLong(), any(ProjectUpdateDto.class))).thenReturn(updatedProject);
+        when(projectService.updateProject(anyLong(), any(ProjectUpdateDto.class), any())).thenReturn(updatedProject);
         when(projectMapper.projectToProjectDto(updatedProject)).thenReturn(dto);
 
         // When & Then
@@ -137,6 +513,160 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.name").value("Updated Project"));
     }
 
+    @Test
+    void shouldPassIfMatchVersionToUpdate() throws Exception {
+        // Given
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        Project updatedProject = createTestProject(1L, "Updated Project");
+        updatedProject.setVersion(4L);
+        ProjectDto dto = new ProjectDto(1L, "Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        
+        when(projectService.updateProject(eq(1L), any(ProjectUpdateDto.class), eq(3L))).thenReturn(updatedProject);
+        when(projectMapper.projectToProjectDto(updatedProject)).thenReturn(dto);
+
+        // When & Then
+        mockMvc.perform(put("/api/projects/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    void shouldAcceptIfMatchFromBinaryRepresentation() throws Exception {
+        // Given
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        Project updatedProject = createTestProject(1L, "Updated Project");
+        updatedProject.setVersion(4L);
+        
+        when(projectService.updateProject(eq(1L), any(ProjectUpdateDto.class), eq(3L))).thenReturn(updatedProject);
+        when(projectMapper.projectToProjectDto(updatedProject)).thenReturn(new ProjectDto(1L, "Updated Project",
+                "Updated Description", LocalDate.now().plusDays(1), LocalDate.now().plusDays(30)));
+
+        // When & Then
+        mockMvc.perform(put("/api/projects/1")
+                .header("If-Match", "\"1-3.smile\"")
+                .accept("application/x-jackson-smile")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4.smile\""));
+    }
+
+    @Test
+    void shouldReturn412WhenUpdateVersionIsStale() throws Exception {
+        // Given
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        
+        when(projectService.updateProject(eq(1L), any(ProjectUpdateDto.class), eq(2L)))
+                .thenThrow(new ProjectVersionConflictException(1L));
+
+        // When & Then
+        mockMvc.perform(put("/api/projects/1")
+                .header("If-Match", "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.type").value("/problems/version-mismatch"));
+    }
+
+    @Test
+    void shouldReturn412WhenUpdatingMissingProjectWithWildcard() throws Exception {
+        // Given
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        
+        when(projectService.updateProject(eq(1L), any(ProjectUpdateDto.class), isNull()))
+                .thenThrow(new ProjectNotFoundException(1L));
+
+        // When & Then
+        mockMvc.perform(put("/api/projects/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldPatchProject() throws Exception {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        
+        when(projectService.patchProject(eq(1L), any(ProjectPatchDto.class), eq(3L))).thenReturn(4L);
+
+        // When & Then
+        mockMvc.perform(patch("/api/projects/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    void shouldRequireIfMatchForPatch() throws Exception {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+
+        // When & Then
+        mockMvc.perform(patch("/api/projects/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isPreconditionRequired());
+        verify(projectService, never()).patchProject(any(), any(), anyLong());
+    }
+
+    @Test
+    void shouldPatchAnyVersionWithWildcard() throws Exception {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        
+        when(projectService.patchProject(eq(1L), any(ProjectPatchDto.class), isNull())).thenReturn(6L);
+
+        // When & Then
+        mockMvc.perform(patch("/api/projects/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1-6\""));
+    }
+
+    @Test
+    void shouldReturn412WhenPatchingMissingProjectWithWildcard() throws Exception {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        
+        when(projectService.patchProject(eq(1L), any(ProjectPatchDto.class), isNull()))
+                .thenThrow(new ProjectNotFoundException(1L));
+
+        // When & Then
+        mockMvc.perform(patch("/api/projects/1")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.type").value("/problems/version-mismatch"));
+    }
+
+    @Test
+    void shouldReturn412WhenIfMatchNamesAnotherProject() throws Exception {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+
+        // When & Then
+        mockMvc.perform(patch("/api/projects/1")
+                .header("If-Match", "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void shouldDeleteProject() throws Exception {
         // When & Then
@@ -153,6 +683,7 @@ class ProjectControllerTest {
                 .endDate(LocalDate.now().plusDays(30))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
+                .version(0L)
                 .build();
     }
 }
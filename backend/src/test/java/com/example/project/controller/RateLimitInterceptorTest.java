@@ -0,0 +1,188 @@
+package com.example.project.controller;
+
+import com.example.project.config.RateLimitProperties;
+import com.example.project.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong();
+
+    // 20 tokens at once, 10 more per second
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new RateLimitProperties(true, 20, 10, 1000, "X-API-Key", Map.of("reporting", "reporting-key")),
+            meterRegistry, now::get);
+
+    @Test
+    void shouldChargeAnnotatedCostAndRejectOverBudget() throws Exception {
+        // Given
+        HandlerMethod list = handler("list");
+
+        // When
+        admit(list, "10.0.0.1");
+        admit(list, "10.0.0.1");
+
+        // Then
+        assertThatThrownBy(() -> admit(list, "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        assertThat(meterRegistry.get("app.rate-limit.throttled").tag("endpoint", "list").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefillOverTime() throws Exception {
+        // Given
+        HandlerMethod list = handler("list");
+        admit(list, "10.0.0.1");
+        admit(list, "10.0.0.1");
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        // Then
+        assertThat(admit(list, "10.0.0.1")).isTrue();
+        assertThatThrownBy(() -> admit(list, "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerClient() throws Exception {
+        // Given
+        HandlerMethod list = handler("list");
+        HandlerMethod get = handler("get");
+        admit(list, "10.0.0.1");
+        admit(list, "10.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> admit(get, "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+        assertThat(admit(list, "10.0.0.2")).isTrue();
+        MockHttpServletRequest authenticated = request("10.0.0.1");
+        authenticated.setUserPrincipal(() -> "integrator");
+        assertThat(interceptor.preHandle(authenticated, new MockHttpServletResponse(), list)).isTrue();
+    }
+
+    @Test
+    void shouldNotGrantNewBudgetForUnverifiedKeyHeader() throws Exception {
+        // Given
+        HandlerMethod list = handler("list");
+        admit(list, "10.0.0.1");
+        admit(list, "10.0.0.1");
+
+        // When
+        MockHttpServletRequest withKey = request("10.0.0.1");
+        withKey.addHeader("X-API-Key", "rotated-" + System.nanoTime());
+
+        // Then
+        assertThatThrownBy(() -> interceptor.preHandle(withKey, new MockHttpServletResponse(), list))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(meterRegistry.get("app.rate-limit.clients").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.rate-limit.throttled").tag("endpoint", "list").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveConfiguredApiKeyItsOwnBudget() throws Exception {
+        // Given
+        HandlerMethod list = handler("list");
+        admit(list, "10.0.0.1");
+        admit(list, "10.0.0.1");
+
+        // When
+        MockHttpServletRequest withKey = request("10.0.0.1");
+        withKey.addHeader("X-API-Key", "reporting-key");
+        MockHttpServletRequest sameKeyElsewhere = request("10.0.0.2");
+        sameKeyElsewhere.addHeader("X-API-Key", "reporting-key");
+
+        // Then
+        assertThat(interceptor.preHandle(withKey, new MockHttpServletResponse(), list)).isTrue();
+        assertThat(interceptor.preHandle(sameKeyElsewhere, new MockHttpServletResponse(), list)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(withKey, new MockHttpServletResponse(), list))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldRejectRefillRatesItCannotMeasure() {
+        // Given
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        // When & Then
+        assertThat(validator.validate(new RateLimitProperties(true, 20, 0, 1000, "X-API-Key", Map.of())))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("refillPerSecond");
+        assertThat(validator.validate(new RateLimitProperties(true, 20, 2_000_000_000L, 1000, "X-API-Key", Map.of())))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("refillPerSecond");
+        assertThat(validator.validate(new RateLimitProperties(true, 20, 10, 1000, "X-API-Key", Map.of()))).isEmpty();
+    }
+
+    @Test
+    void shouldNotAdmitMoreThanCapacityUnderContention() throws Exception {
+        // Given
+        HandlerMethod get = handler("get");
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        admit(get, "10.0.0.1");
+                        admitted.incrementAndGet();
+                    } catch (RateLimitExceededException ex) {
+                        // over budget
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertThat(admitted.get()).isEqualTo(20);
+    }
+
+    private boolean admit(HandlerMethod handler, String address) throws Exception {
+        return interceptor.preHandle(request(address), new MockHttpServletResponse(), handler);
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(name));
+    }
+
+    static class Endpoints {
+
+        @RequestCost(10)
+        void list() {
+        }
+
+        void get() {
+        }
+    }
+}
@@ -2,20 +2,30 @@ package com.example.project.repository;
 
 import com.example.project.entity.Project;
 import com.example.project.testinfra.ItBase;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @ActiveProfiles("it")
+// Runs in each test's transaction, so the migrated seed rows come back afterwards. TRUNCATE fires no
+// delete triggers, so no tombstones are left behind
+@Sql(statements = "TRUNCATE projects, project_tombstones")
 class ProjectRepositoryItTest extends ItBase {
     
     @Autowired 
@@ -70,6 +80,218 @@ class ProjectRepositoryItTest extends ItBase {
                 .containsExactlyInAnyOrder("Project 1", "Project 2");
     }
 
+    @Test
+    void shouldPageProjectsByIdKeyset() {
+        Project first = projectRepository.save(createTestProject("Project 1"));
+        Project second = projectRepository.save(createTestProject("Project 2"));
+        Project third = projectRepository.save(createTestProject("Project 3"));
+
+        List<Project> firstPage = projectRepository.findPage(ProjectFilter.NONE, null, 2);
+        List<Project> secondPage = projectRepository.findPage(ProjectFilter.NONE, second.getId(), 2);
+
+        assertThat(firstPage).extracting(Project::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(Project::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void shouldProjectChangeStamps() {
+        Project saved = projectRepository.save(createTestProject("Project 1"));
+
+        List<ProjectChangeStamp> stamps = projectRepository.findChangeStamps(ProjectFilter.NONE, null, 1);
+
+        assertThat(stamps).singleElement().satisfies(stamp -> {
+            assertThat(stamp.id()).isEqualTo(saved.getId());
+            assertThat(stamp.version()).isEqualTo(saved.getVersion());
+        });
+    }
+
+    @Test
+    void shouldFindChangesWithTombstones() {
+        Project kept = projectRepository.save(createTestProject("Project 1"));
+        Project deleted = projectRepository.save(createTestProject("Project 2"));
+        projectRepository.deleteById(deleted.getId());
+        projectRepository.flush();
+
+        List<ProjectChangeRow> all = projectRepository.findChangesAfter("0", 0, true, 10);
+        List<ProjectChangeRow> live = projectRepository.findChangesAfter("0", 0, false, 10);
+
+        assertThat(all).extracting(ProjectChangeRow::getId, ProjectChangeRow::getDeleted)
+                .containsExactly(tuple(kept.getId(), false), tuple(deleted.getId(), true));
+        assertThat(live).extracting(ProjectChangeRow::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void shouldMoveSyncHorizonPastPrunedTombstones() {
+        Project deleted = projectRepository.save(createTestProject("Project 1"));
+        projectRepository.deleteById(deleted.getId());
+        projectRepository.flush();
+        String deletedXid = projectRepository.findChangesAfter("0", 0, true, 10).getFirst().getChangeXid();
+
+        long retained = projectRepository.pruneTombstones(3600);
+        // A negative retention reaches tombstones written in this transaction
+        long pruned = projectRepository.pruneTombstones(-1);
+
+        assertThat(retained).isZero();
+        assertThat(pruned).isOne();
+        assertThat(projectRepository.findPrunedTombstoneXid()).isEqualTo(deletedXid);
+        assertThat(projectRepository.findChangesAfter("0", 0, true, 10)).isEmpty();
+        assertThat(Long.parseLong(projectRepository.findSnapshotXmin())).isLessThanOrEqualTo(Long.parseLong(deletedXid));
+    }
+
+    @Test
+    void shouldAggregateStatsByMonth() {
+        projectRepository.save(createTestProject("Q1", LocalDate.of(2031, 1, 10), LocalDate.of(2031, 3, 20)));
+        projectRepository.save(createTestProject("March", LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 11)));
+        projectRepository.flush();
+
+        projectRepository.refreshStats();
+        List<ProjectMonthStats> months = projectRepository.findMonthlyStats().stream()
+                .filter(month -> month.getMonth().getYear() == 2031)
+                .toList();
+
+        assertThat(months).extracting(ProjectMonthStats::getMonth, ProjectMonthStats::getStarting,
+                        ProjectMonthStats::getEnding, ProjectMonthStats::getDurationDays)
+                .containsExactly(tuple(LocalDate.of(2031, 1, 1), 1L, 0L, 0L),
+                        tuple(LocalDate.of(2031, 3, 1), 1L, 2L, 79L));
+    }
+
+    @Test
+    void shouldSumEndingProjectsFromRefreshedStats() {
+        projectRepository.save(createTestProject("Q1", LocalDate.of(2031, 1, 10), LocalDate.of(2031, 3, 20)));
+        projectRepository.save(createTestProject("April", LocalDate.of(2031, 4, 1), LocalDate.of(2031, 4, 11)));
+        projectRepository.flush();
+
+        projectRepository.markStatsRefreshed();
+        projectRepository.refreshStats();
+        ProjectStatsSummary summary = projectRepository.findStatsSummary(LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 31));
+
+        assertThat(summary.getEndingBetween()).isOne();
+        assertThat(summary.getRefreshedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldTreatWritesOfRunningTransactionsAsStale() {
+        boolean staleBefore = projectRepository.isStatsStale();
+        projectRepository.saveAndFlush(createTestProject("Project 1"));
+        boolean staleAfterWrite = projectRepository.isStatsStale();
+        projectRepository.markStatsRefreshed();
+        boolean staleAfterRefresh = projectRepository.isStatsStale();
+
+        assertThat(staleBefore).isFalse();
+        assertThat(staleAfterWrite).isTrue();
+        // This transaction was still running when the refresh was recorded, so the view may miss its write
+        assertThat(staleAfterRefresh).isTrue();
+    }
+
+    @Test
+    void shouldFilterProjectsBySchedule() {
+        Project q1 = projectRepository.save(createTestProject("Q1", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 3, 31)));
+        Project q2 = projectRepository.save(createTestProject("Q2", LocalDate.of(2030, 4, 1), LocalDate.of(2030, 6, 30)));
+        Project year = projectRepository.save(createTestProject("Year", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31)));
+
+        List<Project> activeInMarch = projectRepository.findPage(
+                new ProjectFilter(LocalDate.of(2030, 3, 31), LocalDate.of(2030, 3, 31), null, null), null, 10);
+        List<Project> activeFromApril = projectRepository.findPage(
+                new ProjectFilter(LocalDate.of(2030, 4, 1), null, null, null), null, 10);
+        List<Project> startingLater = projectRepository.findPage(
+                new ProjectFilter(null, null, LocalDate.of(2030, 1, 1), null), null, 10);
+        List<Project> endingBeforeApril = projectRepository.findPage(
+                new ProjectFilter(null, null, null, LocalDate.of(2030, 4, 1)), null, 10);
+
+        assertThat(activeInMarch).extracting(Project::getId).containsExactly(q1.getId(), year.getId());
+        assertThat(activeFromApril).extracting(Project::getId).containsExactly(q2.getId(), year.getId());
+        assertThat(startingLater).extracting(Project::getId).containsExactly(q2.getId());
+        assertThat(endingBeforeApril).extracting(Project::getId).containsExactly(q1.getId());
+    }
+
+    @Test
+    void shouldRejectScheduleEndingOnStartDate() {
+        Project sameDay = createTestProject("Same day", LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 1));
+
+        assertThatThrownBy(() -> projectRepository.saveAndFlush(sameDay))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("chk_projects_schedule");
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedAttributes() {
+        Project saved = projectRepository.save(createTestProject("Project 1"));
+
+        List<Tuple> rows = projectRepository.findFields(ProjectFilter.NONE, null, 10, List.of("name"));
+        List<Tuple> byIds = projectRepository.findFieldsByIds(List.of(saved.getId()), List.of("startDate"));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getElements()).extracting(TupleElement::getAlias).containsExactly("id", "version", "name");
+            assertThat(row.get("name")).isEqualTo("Project 1");
+        });
+        assertThat(byIds).singleElement()
+                .satisfies(row -> assertThat(row.get("startDate")).isEqualTo(saved.getStartDate()));
+    }
+
+    @Test
+    void shouldPatchOnlyMatchingVersion() {
+        Project saved = projectRepository.save(createTestProject("Project 1"));
+
+        int stale = projectRepository.patch(saved.getId(), saved.getVersion() + 1, "Renamed", 
+                null, null, null, LocalDateTime.now());
+        int applied = projectRepository.patch(saved.getId(), saved.getVersion(), "Renamed", 
+                null, null, null, LocalDateTime.now());
+
+        assertThat(stale).isZero();
+        assertThat(applied).isOne();
+        Project patched = projectRepository.findById(saved.getId()).orElseThrow();
+        assertThat(patched.getName()).isEqualTo("Renamed");
+        assertThat(patched.getDescription()).isEqualTo("Test Description");
+        assertThat(patched.getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void shouldFindProjectsByIdArray() {
+        Project first = projectRepository.save(createTestProject("Project 1"));
+        Project second = projectRepository.save(createTestProject("Project 2"));
+
+        List<Project> found = projectRepository.findAllByIdIn(new Long[] {second.getId(), first.getId(), -1L});
+
+        assertThat(found).extracting(Project::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void shouldRankSearchHitsByRelevance() {
+        Project repeated = projectRepository.save(createTestProject("Mobile mobile app", "Test Description"));
+        Project inName = projectRepository.save(createTestProject("Mobile app", "Test Description"));
+        Project inDescription = projectRepository.save(createTestProject("Banking platform", "Mobile first"));
+        projectRepository.save(createTestProject("Warehouse system", "Test Description"));
+        projectRepository.flush();
+
+        List<ProjectSearchHit> hits = projectRepository.search("mobile", 10);
+
+        // Name matches (weight A) outrank description matches (weight B), more occurrences rank higher
+        assertThat(hits).extracting(ProjectSearchHit::getId)
+                .containsExactly(repeated.getId(), inName.getId(), inDescription.getId());
+        assertThat(hits).extracting(ProjectSearchHit::getRank).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void shouldPageSearchHitsAcrossEqualRanks() {
+        Project best = projectRepository.save(createTestProject("Mobile mobile app", "Test Description"));
+        List<Long> tied = List.of(
+                projectRepository.save(createTestProject("Mobile app", "Test Description")).getId(),
+                projectRepository.save(createTestProject("Mobile app", "Test Description")).getId(),
+                projectRepository.save(createTestProject("Mobile app", "Test Description")).getId());
+        projectRepository.flush();
+
+        List<ProjectSearchHit> firstPage = projectRepository.search("mobile", 2);
+        ProjectSearchHit last = firstPage.get(1);
+        // The boundary falls inside the tie, so the next page relies on the rank read back comparing equal
+        List<ProjectSearchHit> nextPage = projectRepository.searchAfter("mobile", last.getRank(), last.getId(), 10);
+        List<ProjectSearchHit> emptyPage = projectRepository.searchAfter("mobile", last.getRank(), tied.get(2), 10);
+
+        assertThat(firstPage).extracting(ProjectSearchHit::getId).containsExactly(best.getId(), tied.get(0));
+        assertThat(nextPage).extracting(ProjectSearchHit::getId).containsExactly(tied.get(1), tied.get(2));
+        assertThat(nextPage).extracting(ProjectSearchHit::getRank).containsOnly(last.getRank());
+        assertThat(emptyPage).isEmpty();
+    }
+
     @Test
     void shouldFindProjectById() {
         Project project = createTestProject("Test Project");
@@ -103,11 +325,21 @@ class ProjectRepositoryItTest extends ItBase {
     }
 
     private Project createTestProject(String name) {
+        return createTestProject(name, LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+    }
+
+    private Project createTestProject(String name, String description) {
+        Project project = createTestProject(name);
+        project.setDescription(description);
+        return project;
+    }
+
+    private Project createTestProject(String name, LocalDate startDate, LocalDate endDate) {
         return Project.builder()
                 .name(name)
                 .description("Test Description")
-                .startDate(LocalDate.now().plusDays(1))
-                .endDate(LocalDate.now().plusDays(30))
+                .startDate(startDate)
+                .endDate(endDate)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
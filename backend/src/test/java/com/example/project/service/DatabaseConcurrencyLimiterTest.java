@@ -0,0 +1,263 @@
+package com.example.project.service;
+
+import com.example.project.config.DatabaseConcurrencyProperties;
+import com.example.project.config.PrimaryOnly;
+import com.example.project.config.ReadReplicaProperties;
+import com.example.project.config.ReplicaRouting;
+import com.example.project.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatabaseConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CountDownLatch holding = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldReleasePermitAfterCall() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 10, Duration.ofSeconds(1));
+        ProceedingJoinPoint call = call("write");
+        when(call.proceed()).thenReturn("result");
+
+        // When
+        Object first = limiter.limit(call);
+        Object second = limiter.limit(call);
+
+        // Then
+        assertThat(first).isEqualTo("result");
+        assertThat(second).isEqualTo("result");
+        assertThat(limiter.active("primary")).isZero();
+    }
+
+    @Test
+    void shouldRejectWhenNoPermitFreesUpInTime() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 10, Duration.ofMillis(20));
+        Future<Object> holder = holdPermit(limiter, "write");
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.limit(call("write")))
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("Timed out waiting for the database");
+        assertThat(meterRegistry.get("app.db.limiter.active").tag("budget", "primary").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.db.limiter.rejected").tag("budget", "primary").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.db.limiter.wait").tag("budget", "primary").timer().count()).isEqualTo(1);
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        assertThat(limiter.active("primary")).isZero();
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 0, Duration.ofMinutes(1));
+        holdPermit(limiter, "write");
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.limit(call("write")))
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("Too many requests waiting for the database");
+        assertThat(meterRegistry.get("app.db.limiter.waiting").tag("budget", "primary").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldLetNestedCallsReusePermit() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 0, Duration.ZERO);
+        ProceedingJoinPoint inner = call("write");
+        ProceedingJoinPoint outer = call("write");
+        when(inner.proceed()).thenReturn("inner");
+        when(outer.proceed()).thenAnswer(invocation -> limiter.limit(inner));
+
+        // When
+        Object result = limiter.limit(outer);
+
+        // Then
+        assertThat(result).isEqualTo("inner");
+        assertThat(limiter.active("primary")).isZero();
+    }
+
+    @Test
+    void shouldKeepBulkCallsOnTheirOwnBudget() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 0, Duration.ZERO);
+        holdPermit(limiter, "export");
+        ProceedingJoinPoint write = call("write");
+        when(write.proceed()).thenReturn("written");
+
+        // When
+        Object result = limiter.limit(write);
+
+        // Then
+        assertThat(result).isEqualTo("written");
+        assertThat(limiter.active("bulk")).isOne();
+        assertThatThrownBy(() -> limiter.limit(call("export")))
+                .isInstanceOf(DatabaseBusyException.class);
+    }
+
+    @Test
+    void shouldAdmitReplicaReadsWhilePrimaryIsBusy() throws Throwable {
+        // Given
+        DatabaseConcurrencyLimiter limiter = limiter(2, 0, Duration.ZERO, "replica-1", "replica-2");
+        holdPermit(limiter, "write");
+        ProceedingJoinPoint read = call("read");
+        when(read.proceed()).thenAnswer(invocation -> limiter.active("replica"));
+
+        // When
+        Object activeReplicaReads = limiter.limit(read);
+
+        // Then
+        assertThat(activeReplicaReads).isEqualTo(1);
+        assertThat(meterRegistry.get("app.db.limiter.active").tag("budget", "replica").gauge().value()).isZero();
+        assertThatThrownBy(() -> limiter.limit(call("primaryRead")))
+                .isInstanceOf(DatabaseBusyException.class);
+    }
+
+    @Test
+    void shouldRequireBulkPermitsBelowMaxConcurrent() {
+        // When & Then
+        assertThatThrownBy(() -> new DatabaseConcurrencyLimiter(
+                new DatabaseConcurrencyProperties(2, 10, Duration.ZERO, 2),
+                replicaProperties(), new ReplicaRouting(replicaProperties()), meterRegistry))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldTakePrimaryPermitForReadsKeptOnPrimary() throws Throwable {
+        // Given
+        ReplicaRouting routing = mock(ReplicaRouting.class);
+        when(routing.pin(true)).thenReturn(false);
+        DatabaseConcurrencyLimiter limiter = limiter(routing, "replica-1");
+        ProceedingJoinPoint read = call("read");
+        when(read.proceed()).thenAnswer(invocation -> limiter.active("primary"));
+
+        // When
+        Object activePrimaryCalls = limiter.limit(read);
+
+        // Then
+        assertThat(activePrimaryCalls).isEqualTo(1);
+        assertThat(limiter.active("replica")).isZero();
+        verify(routing).unpin();
+    }
+
+    @Test
+    void shouldTradeReplicaPermitWhenReadFallsBackToPrimary() throws Throwable {
+        // Given
+        ReplicaRouting routing = mock(ReplicaRouting.class);
+        when(routing.pin(true)).thenReturn(true);
+        DatabaseConcurrencyLimiter limiter = limiter(routing, "replica-1");
+        ArgumentCaptor<Runnable> fallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(routing).onPrimaryFallback(fallback.capture());
+        ProceedingJoinPoint read = call("read");
+        when(read.proceed()).thenAnswer(invocation -> {
+            fallback.getValue().run();
+            return List.of(limiter.active("replica"), limiter.active("primary"));
+        });
+
+        // When
+        Object activeReplicaAndPrimaryCalls = limiter.limit(read);
+
+        // Then
+        assertThat(activeReplicaAndPrimaryCalls).isEqualTo(List.of(0, 1));
+        assertThat(limiter.active("primary")).isZero();
+    }
+
+    // One bulk permit, the rest for the primary; each replica adds maxConcurrent less the bulk permit
+    private DatabaseConcurrencyLimiter limiter(int maxConcurrent, int maxWaiting, Duration acquireTimeout,
+                                               String... replicaUrls) {
+        return new DatabaseConcurrencyLimiter(
+                new DatabaseConcurrencyProperties(maxConcurrent, maxWaiting, acquireTimeout, 1),
+                replicaProperties(replicaUrls), new ReplicaRouting(replicaProperties(replicaUrls)), meterRegistry);
+    }
+
+    private DatabaseConcurrencyLimiter limiter(ReplicaRouting routing, String... replicaUrls) {
+        return new DatabaseConcurrencyLimiter(new DatabaseConcurrencyProperties(2, 0, Duration.ZERO, 1),
+                replicaProperties(replicaUrls), routing, meterRegistry);
+    }
+
+    private static ReadReplicaProperties replicaProperties(String... replicaUrls) {
+        return new ReadReplicaProperties(List.of(replicaUrls), ReadReplicaProperties.Balancing.ROUND_ROBIN, Duration.ZERO,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    // A call to the named method of ServiceCalls
+    private static ProceedingJoinPoint call(String method) throws NoSuchMethodException {
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(ServiceCalls.class.getMethod(method));
+        when(call.getSignature()).thenReturn(signature);
+        when(call.getTarget()).thenReturn(new ServiceCalls());
+        return call;
+    }
+
+    // Occupies a permit on another thread until the test releases it
+    private Future<Object> holdPermit(DatabaseConcurrencyLimiter limiter, String method) throws Throwable {
+        ProceedingJoinPoint blocking = call(method);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await();
+            return null;
+        });
+        Future<Object> holder = executor.submit(() -> {
+            try {
+                return limiter.limit(blocking);
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+
+    @Transactional(readOnly = true)
+    public static class ServiceCalls {
+
+        public void read() {
+        }
+
+        @PrimaryOnly
+        public void primaryRead() {
+        }
+
+        @Transactional
+        public void write() {
+        }
+
+        @BulkOperation
+        public void export() {
+        }
+    }
+}
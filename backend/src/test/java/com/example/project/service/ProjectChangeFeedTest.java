@@ -0,0 +1,144 @@
+package com.example.project.service;
+
+import com.example.project.config.CacheConfig;
+import com.example.project.config.ProjectChangeFeedProperties;
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.ChangeFeedFullException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectChangeFeedTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PROJECTS_CACHE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ProjectChangeFeed feed = new ProjectChangeFeed(
+            new ProjectChangeFeedProperties(10, 2, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofSeconds(5)),
+            new DataSourceProperties(), JsonMapper.builder().findAndAddModules().build(), cacheManager, meterRegistry);
+
+    private final Cache cache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+
+    @Test
+    void shouldReplaceBacklogWithResyncWhenSubscriberFallsBehind() throws InterruptedException {
+        // Given
+        ProjectChangeFeed.Subscriber subscriber = new ProjectChangeFeed.Subscriber(new SseEmitter(), 2);
+        subscriber.offer(change(1L, 1L));
+        subscriber.offer(change(2L, 1L));
+
+        // When
+        boolean queued = subscriber.offer(change(3L, 1L));
+
+        // Then
+        assertThat(queued).isFalse();
+        assertThat(subscriber.poll(Duration.ZERO)).isEqualTo(ProjectChangeDto.resync());
+        assertThat(subscriber.poll(Duration.ZERO)).isNull();
+    }
+
+    @Test
+    void shouldNotOpenMoreStreamsThanMaxSubscribersUnderContention() throws InterruptedException {
+        // Given
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 50; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        feed.subscribe();
+                        opened.incrementAndGet();
+                    } catch (ChangeFeedFullException ex) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        // Then
+        assertThat(opened).hasValue(10);
+        assertThat(refused).hasValue(40);
+        assertThat(meterRegistry.get("app.change-feed.subscribers").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldEvictCachedProjectUpdatedThroughAnotherNode() {
+        // Given
+        cache.put(1L, project(1L, 1L));
+
+        // When
+        feed.publish("{\"type\":\"updated\",\"id\":1,\"version\":2,\"project\":{\"id\":1,\"name\":\"Renamed\",\"startDate\":\"2030-01-01\"}}");
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(meterRegistry.get("app.change-feed.events").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepCachedProjectAlreadyAtChangedVersion() {
+        // Given
+        cache.put(1L, project(1L, 2L));
+
+        // When
+        feed.publish("{\"type\":\"updated\",\"id\":1,\"version\":2}");
+
+        // Then
+        assertThat(cache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void shouldEvictDeletedProject() {
+        // Given
+        cache.put(1L, project(1L, 2L));
+
+        // When
+        feed.publish("{\"type\":\"deleted\",\"id\":1,\"version\":2}");
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void shouldClearCacheOnResyncFromBulkChange() {
+        // Given
+        cache.put(1L, project(1L, 2L));
+        cache.put(2L, project(2L, 1L));
+
+        // When
+        feed.publish("{\"type\":\"resync\"}");
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    private static ProjectChangeDto change(Long id, Long version) {
+        return new ProjectChangeDto("updated", id, version, null);
+    }
+
+    private static Project project(Long id, Long version) {
+        return Project.builder()
+                .id(id)
+                .name("Project " + id)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.project.service;
+
+import com.example.project.config.BulkInsertProperties;
+import com.example.project.config.DatabaseConcurrencyProperties;
+import com.example.project.config.GroupCommitProperties;
+import com.example.project.dto.ProjectCreateDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProjectGroupCommitterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ProjectService projectService = mock(ProjectService.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ProjectGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        if (committer != null && committer.isRunning()) {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void shouldCreateConcurrentProjectsInOneGroup() throws Exception {
+        // Given
+        committer = committer(3, Duration.ofSeconds(5), 10);
+        when(projectService.createProjectGroup(anyList())).thenAnswer(invocation -> {
+            List<ProjectCreateDto> dtos = invocation.getArgument(0);
+            return dtos.stream().map(dto -> project(Long.parseLong(dto.name().substring(8)), dto.name())).toList();
+        });
+
+        // When
+        List<Future<Project>> callers = List.of(
+                submit(createDto("Project 1")), submit(createDto("Project 2")), submit(createDto("Project 3")));
+
+        // Then
+        for (Future<Project> caller : callers) {
+            Project project = caller.get(1, TimeUnit.SECONDS);
+            assertThat(project.getName()).isEqualTo("Project " + project.getId());
+        }
+        verify(projectService, times(1)).createProjectGroup(anyList());
+        assertThat(meterRegistry.get("app.group-commit.group-size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCreateOneByOneWhenGroupFails() throws Exception {
+        // Given
+        committer = committer(2, Duration.ofSeconds(5), 10);
+        ProjectCreateDto good = createDto("Good Project");
+        ProjectCreateDto bad = createDto("Bad Project");
+        when(projectService.createProjectGroup(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        doReturn(List.of(project(1L, "Good Project"))).when(projectService).createProjectGroup(List.of(good));
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(projectService).createProjectGroup(List.of(bad));
+
+        // When
+        Future<Project> goodCaller = submit(good);
+        Future<Project> badCaller = submit(bad);
+
+        // Then
+        assertThat(goodCaller.get(1, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThatThrownBy(() -> badCaller.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(meterRegistry.get("app.group-commit.retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectWhenQueueStaysFull() throws Exception {
+        // Given
+        committer = committer(1, Duration.ZERO, 1);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(projectService.createProjectGroup(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return List.of(project(1L, "Project 1"));
+        });
+        Future<Project> written = submit(createDto("Project 1"));
+        assertThat(writing.await(1, TimeUnit.SECONDS)).isTrue();
+        Future<Project> queued = submit(createDto("Project 2"));
+        awaitQueued(1);
+
+        // When & Then
+        assertThatThrownBy(() -> committer.create(createDto("Project 3")))
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("Too many projects waiting to be created");
+        assertThat(meterRegistry.get("app.group-commit.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(written.get(1, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void shouldWithdrawQueuedProjectWhenCallerTimesOut() throws Exception {
+        // Given
+        CountDownLatch writing = new CountDownLatch(1);
+        when(projectService.createProjectGroup(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return List.of(project(1L, "Project 1"));
+        });
+        committer = committer(1, Duration.ZERO, 10, 0);
+        Future<Project> stalled = submit(createDto("Project 1"));
+        assertThat(writing.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then
+        assertThatThrownBy(() -> committer.create(createDto("Project 2")))
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("Timed out waiting for the project to be created");
+        assertThat(queued()).isZero();
+        // The first was already being written, so its caller cannot know whether it was created
+        assertThatThrownBy(() -> stalled.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DatabaseBusyException.class)
+                .hasMessageContaining("it may still be created");
+        assertThat(meterRegistry.get("app.group-commit.timed-out").counter().count()).isEqualTo(2);
+
+        release.countDown();
+        verify(projectService, times(1)).createProjectGroup(anyList());
+    }
+
+    @Test
+    void shouldLeaveOutWithdrawnProjectWhenWriterIsInterrupted() throws Exception {
+        // Given
+        committer = committer(2, Duration.ofSeconds(5), 10);
+        AtomicReference<DatabaseBusyException> withdrawn = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                committer.create(createDto("Project 1"));
+            } catch (DatabaseBusyException ex) {
+                withdrawn.set(ex);
+            }
+        });
+        Thread writer = awaitWriterFilling();
+        caller.interrupt();
+        caller.join(1000);
+        assertThat(withdrawn.get()).hasMessage("Interrupted while waiting for the project to be created");
+
+        // When
+        writer.interrupt();
+        committer.stop();
+
+        // Then
+        verify(projectService, never()).createProjectGroup(anyList());
+    }
+
+    @Test
+    void shouldRefuseGroupsLargerThanBulkInsertAllows() {
+        // When & Then
+        assertThatThrownBy(() -> committer(1001, Duration.ZERO, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.group-commit.max-batch-size");
+    }
+
+    private ProjectGroupCommitter committer(int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        return committer(maxBatchSize, maxDelay, queueCapacity, 5);
+    }
+
+    // The wait for a group is bounded by maxDelay + acquireTimeout (200ms) + transactionTimeoutSeconds
+    private ProjectGroupCommitter committer(int maxBatchSize, Duration maxDelay, int queueCapacity, int transactionTimeoutSeconds) {
+        ProjectGroupCommitter groupCommitter = new ProjectGroupCommitter(
+                new GroupCommitProperties(true, maxBatchSize, maxDelay, queueCapacity, Duration.ofMillis(50), transactionTimeoutSeconds),
+                new BulkInsertProperties(50, 1000), new DatabaseConcurrencyProperties(10, 1000, Duration.ofMillis(200), 2),
+                projectService, meterRegistry);
+        groupCommitter.start();
+        return groupCommitter;
+    }
+
+    private Future<Project> submit(ProjectCreateDto projectDto) {
+        return executor.submit(() -> committer.create(projectDto));
+    }
+
+    private void awaitQueued(int projects) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (queued() < projects && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(queued()).isEqualTo(projects);
+    }
+
+    // The writer thread, once it has taken a project and is waiting for its group to fill
+    private Thread awaitWriterFilling() throws InterruptedException {
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().equals("project-group-committer"))
+                .findFirst().orElseThrow();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (Arrays.stream(writer.getStackTrace()).noneMatch(frame -> frame.getMethodName().equals("fill"))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(writer.getStackTrace()).anyMatch(frame -> frame.getMethodName().equals("fill"));
+        return writer;
+    }
+
+    private double queued() {
+        return meterRegistry.get("app.group-commit.queued").gauge().value();
+    }
+
+    private ProjectCreateDto createDto(String name) {
+        return new ProjectCreateDto(name, "Test Description",
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+    }
+
+    private Project project(Long id, String name) {
+        return Project.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(30))
+                .build();
+    }
+}
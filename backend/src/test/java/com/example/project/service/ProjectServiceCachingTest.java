@@ -0,0 +1,207 @@
+package com.example.project.service;
+
+import com.example.project.config.BulkInsertProperties;
+import com.example.project.config.CacheConfig;
+import com.example.project.config.PaginationProperties;
+import com.example.project.config.ProjectLookupProperties;
+import com.example.project.dto.ProjectPatchDto;
+import com.example.project.dto.ProjectUpdateDto;
+import com.example.project.entity.Project;
+import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class ProjectServiceCachingTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(ProjectService.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            CacheConfig.ProjectCacheManager cacheManager = new CacheConfig.ProjectCacheManager();
+            cacheManager.setCacheNames(List.of(CacheConfig.PROJECTS_CACHE));
+            return cacheManager;
+        }
+
+        @Bean
+        PaginationProperties paginationProperties() {
+            return new PaginationProperties(50, 200);
+        }
+
+        @Bean
+        BulkInsertProperties bulkInsertProperties() {
+            return new BulkInsertProperties(50, 1000);
+        }
+
+        @Bean
+        ProjectLookupProperties projectLookupProperties() {
+            return new ProjectLookupProperties(500);
+        }
+    }
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProjectRepository projectRepository;
+
+    @MockitoBean
+    private ProjectMapper projectMapper;
+
+    @MockitoBean
+    private Validator validator;
+
+    @MockitoBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.PROJECTS_CACHE).clear();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        // Given
+        Project project = createTestProject(1L, "Cached Project");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        // When
+        projectService.getProjectById(1L);
+        Project result = projectService.getProjectById(1L);
+
+        // Then
+        assertThat(result).isEqualTo(project);
+        verify(projectRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldNotLetCallersChangeCachedProject() {
+        // Given
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(createTestProject(1L, "Cached Project")));
+        projectService.getProjectById(1L).setName("Changed by caller");
+
+        // When
+        Project result = projectService.getProjectById(1L);
+        result.setName("Changed by another caller");
+
+        // Then
+        assertThat(projectService.getProjectById(1L).getName()).isEqualTo("Cached Project");
+    }
+
+    @Test
+    void shouldRefreshCacheOnUpdate() {
+        // Given
+        Project project = createTestProject(1L, "Old Name");
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("New Name", "Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        Project updatedProject = createTestProject(1L, "New Name");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.save(project)).thenReturn(updatedProject);
+        projectService.getProjectById(1L);
+
+        // When
+        projectService.updateProject(1L, updateDto, null);
+        Project result = projectService.getProjectById(1L);
+
+        // Then
+        assertThat(result.getName()).isEqualTo("New Name");
+    }
+
+    @Test
+    void shouldEvictCacheOnDelete() {
+        // Given
+        Project project = createTestProject(1L, "Deleted Project");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        projectService.getProjectById(1L);
+
+        // When
+        projectService.deleteProject(1L);
+
+        // Then
+        assertThat(cacheManager.getCache(CacheConfig.PROJECTS_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void shouldNotCacheLoadThatReadProjectBeforePatch() {
+        // Given
+        when(projectRepository.patch(eq(1L), eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
+        projectService.patchProject(1L, new ProjectPatchDto("New Name", null, null, null), 1L);
+        // A load that read the project before the patch committed, and finishes after it
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(createTestProject(1L, "Old Name", 1L)));
+
+        // When
+        projectService.getProjectById(1L);
+        projectService.getProjectById(1L);
+
+        // Then
+        verify(projectRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotCacheDeletedProjectAgain() {
+        // Given
+        Project project = createTestProject(1L, "Deleted Project", 3L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        projectService.deleteProject(1L);
+
+        // When
+        projectService.getProjectById(1L);
+
+        // Then
+        assertThat(cacheManager.getCache(CacheConfig.PROJECTS_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void shouldKeepNewerVersionWhenOlderLoadFinishesLast() {
+        // Given
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        cache.put(1L, createTestProject(1L, "New Name", 2L));
+
+        // When
+        cache.put(1L, createTestProject(1L, "Old Name", 1L));
+
+        // Then
+        assertThat(cache.get(1L, Project.class).getName()).isEqualTo("New Name");
+    }
+
+    private Project createTestProject(Long id, String name) {
+        return createTestProject(id, name, null);
+    }
+
+    private Project createTestProject(Long id, String name, Long version) {
+        return Project.builder()
+                .id(id)
+                .name(name)
+                .version(version)
+                .description("Test Description")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(30))
+                .build();
+    }
+}
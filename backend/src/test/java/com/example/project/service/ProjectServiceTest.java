@@ -1,24 +1,48 @@
 package com.example.project.service;
 
+import com.example.project.config.BulkInsertProperties;
+import com.example.project.config.PaginationProperties;
+import com.example.project.config.ProjectLookupProperties;
 import com.example.project.dto.ProjectCreateDto;
+import com.example.project.dto.ProjectPatchDto;
 import com.example.project.dto.ProjectUpdateDto;
 import com.example.project.entity.Project;
+import com.example.project.exception.BatchValidationException;
 import com.example.project.exception.ProjectNotFoundException;
+import com.example.project.exception.ProjectVersionConflictException;
 import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectChangeStamp;
+import com.example.project.repository.ProjectFilter;
 import com.example.project.repository.ProjectRepository;
+import com.example.project.repository.ProjectSearchHit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +54,24 @@ class ProjectServiceTest {
     @Mock
     private ProjectMapper projectMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(2, 5);
+
+    @Spy
+    private BulkInsertProperties bulkInsertProperties = new BulkInsertProperties(2, 3);
+
+    @Spy
+    private ProjectLookupProperties lookupProperties = new ProjectLookupProperties(3);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -39,15 +81,203 @@ class ProjectServiceTest {
         Project project1 = createTestProject(1L, "Project 1");
         Project project2 = createTestProject(2L, "Project 2");
         
-        when(projectRepository.findAll()).thenReturn(List.of(project1, project2));
+        when(projectRepository.findPage(ProjectFilter.NONE, null, 3)).thenReturn(List.of(project1, project2));
+
+        // When
+        ProjectPage result = projectService.getAllProjects(ProjectFilter.NONE, null, null);
+
+        // Then
+        assertThat(result.projects()).hasSize(2);
+        assertThat(result.projects().get(0).getName()).isEqualTo("Project 1");
+        assertThat(result.projects().get(1).getName()).isEqualTo("Project 2");
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreProjectsExist() {
+        // Given
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project2 = createTestProject(2L, "Project 2");
+        Project project3 = createTestProject(3L, "Project 3");
+        
+        when(projectRepository.findPage(ProjectFilter.NONE, null, 3)).thenReturn(List.of(project1, project2, project3));
+        when(projectRepository.findPage(ProjectFilter.NONE, 2L, 3)).thenReturn(List.of(project3));
+
+        // When
+        ProjectPage firstPage = projectService.getAllProjects(ProjectFilter.NONE, null, null);
+        ProjectPage secondPage = projectService.getAllProjects(ProjectFilter.NONE, firstPage.nextCursor(), null);
+
+        // Then
+        assertThat(firstPage.projects()).extracting(Project::getId).containsExactly(1L, 2L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.projects()).extracting(Project::getId).containsExactly(3L);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldCapRequestedLimit() {
+        // Given
+        when(projectRepository.findPage(ProjectFilter.NONE, null, 6)).thenReturn(List.of());
+
+        // When
+        ProjectPage result = projectService.getAllProjects(ProjectFilter.NONE, null, 1000);
+
+        // Then
+        assertThat(result.projects()).isEmpty();
+        verify(projectRepository).findPage(ProjectFilter.NONE, null, 6);
+    }
+
+    @Test
+    void shouldComputePageETagFromChangeStamps() {
+        // Given
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project2 = createTestProject(2L, "Project 2");
+        Project project3 = createTestProject(3L, "Project 3");
+        List<ProjectChangeStamp> stamps = List.of(stampOf(project1), stampOf(project2), stampOf(project3));
+        
+        when(projectRepository.findPage(ProjectFilter.NONE, null, 3))
+                .thenReturn(List.of(project1, project2, project3));
+        when(projectRepository.findChangeStamps(ProjectFilter.NONE, null, 3)).thenReturn(stamps);
+
+        // When
+        String pageETag = ProjectETags.of(projectService.getAllProjects(ProjectFilter.NONE, null, null));
+        String stampETag = projectService.getProjectsETag(ProjectFilter.NONE, null, null);
+
+        // Then
+        assertThat(stampETag).isEqualTo(pageETag);
+    }
+
+    @Test
+    void shouldPassScheduleFilterToRepository() {
+        // Given
+        Project project = createTestProject(1L, "Project 1");
+        ProjectFilter filter = new ProjectFilter(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), null, null);
+        
+        when(projectRepository.findPage(filter, null, 3)).thenReturn(List.of(project));
 
         // When
-        List<Project> result = projectService.getAllProjects();
+        ProjectPage result = projectService.getAllProjects(filter, null, null);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Project 1");
-        assertThat(result.get(1).getName()).isEqualTo("Project 2");
+        assertThat(result.projects()).containsExactly(project);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvertedActiveWindow() {
+        // When & Then
+        assertThatThrownBy(() -> new ProjectFilter(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 1, 1), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("activeTo must not be before activeFrom");
+    }
+
+    @Test
+    void shouldSelectOnlyRequestedFields() {
+        // Given
+        Set<ProjectField> fields = ProjectField.parse("name");
+        List<Tuple> rows = List.of(tupleOf(1L, 0L, "Project 1"), tupleOf(2L, 3L, "Project 2"), tupleOf(3L, 0L, "Project 3"));
+        
+        when(projectRepository.findFields(ProjectFilter.NONE, null, 3, List.of("id", "name"))).thenReturn(rows);
+        when(projectRepository.findChangeStamps(ProjectFilter.NONE, null, 3)).thenReturn(List.of(
+                new ProjectChangeStamp(1L, 0L), new ProjectChangeStamp(2L, 3L), new ProjectChangeStamp(3L, 0L)));
+
+        // When
+        ProjectFieldsPage result = projectService.getProjectFields(ProjectFilter.NONE, null, null, fields);
+
+        // Then
+        assertThat(result.projects()).containsExactly(
+                Map.of("id", 1L, "name", "Project 1"),
+                Map.of("id", 2L, "name", "Project 2"));
+        assertThat(result.nextCursor()).isNotNull();
+        assertThat(result.eTag())
+                .isEqualTo(ProjectETags.forFields(projectService.getProjectsETag(ProjectFilter.NONE, null, null), fields))
+                .isNotEqualTo(projectService.getProjectsETag(ProjectFilter.NONE, null, null));
+    }
+
+    @Test
+    void shouldParseFieldSelection() {
+        // When & Then
+        assertThat(ProjectField.parse(null)).isNull();
+        assertThat(ProjectField.parse("endDate, name")).containsExactly(ProjectField.ID, ProjectField.NAME, ProjectField.END_DATE);
+        assertThat(ProjectField.parse("")).containsExactly(ProjectField.ID);
+        assertThatThrownBy(() -> ProjectField.parse("name,createdAt"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: createdAt. Allowed fields: id,name,description,startDate,endDate");
+    }
+
+    @Test
+    void shouldSearchProjectFieldsInRankOrder() {
+        // Given
+        List<Tuple> rows = List.of(tupleOf(1L, 0L, "Mobile App"), tupleOf(2L, 0L, "Mobile Backend"));
+        
+        when(projectRepository.search("mobile", 3)).thenReturn(List.of(hitOf(2L, 0.9f), hitOf(1L, 0.5f)));
+        when(projectRepository.findFieldsByIds(List.of(2L, 1L), List.of("id", "name"))).thenReturn(rows);
+
+        // When
+        ProjectFieldsPage result = projectService.searchProjectFields("mobile", null, null, ProjectField.parse("name"));
+
+        // Then
+        assertThat(result.projects()).extracting(project -> project.get("name"))
+                .containsExactly("Mobile Backend", "Mobile App");
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldSearchProjectsInRankOrder() {
+        // Given
+        Project project1 = createTestProject(1L, "Mobile App");
+        Project project2 = createTestProject(2L, "Mobile Backend");
+        Project project3 = createTestProject(3L, "Mobile Web");
+        
+        when(projectRepository.search("mobile", 3))
+                .thenReturn(List.of(hitOf(2L, 0.9f), hitOf(1L, 0.5f), hitOf(3L, 0.1f)));
+        when(projectRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(project1, project2));
+        when(projectRepository.searchAfter("mobile", 0.5f, 1L, 3)).thenReturn(List.of(hitOf(3L, 0.1f)));
+        when(projectRepository.findAllById(List.of(3L))).thenReturn(List.of(project3));
+
+        // When
+        ProjectPage firstPage = projectService.searchProjects("mobile", null, null);
+        ProjectPage secondPage = projectService.searchProjects("mobile", firstPage.nextCursor(), null);
+
+        // Then
+        assertThat(firstPage.projects()).extracting(Project::getId).containsExactly(2L, 1L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.projects()).extracting(Project::getId).containsExactly(3L);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery() {
+        // When & Then
+        assertThatThrownBy(() -> projectService.searchProjects(" ", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search query must not be blank");
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> projectService.getAllProjects(ProjectFilter.NONE, "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not-a-cursor");
+    }
+
+    @Test
+    void shouldExportAndDetachEachProject() {
+        // Given
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project2 = createTestProject(2L, "Project 2");
+        List<Project> exported = new ArrayList<>();
+        
+        when(projectRepository.streamAllOrderedById()).thenReturn(Stream.of(project1, project2));
+
+        // When
+        projectService.exportProjects(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(project1, project2);
+        verify(entityManager).detach(project1);
+        verify(entityManager).detach(project2);
     }
 
     @Test
@@ -75,6 +305,41 @@ class ProjectServiceTest {
                 .hasMessage("Project not found with id: 1");
     }
 
+    @Test
+    void shouldLookUpProjectsWithOneQuery() {
+        // Given
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project3 = createTestProject(3L, "Project 3");
+        when(projectRepository.findAllByIdIn(new Long[] {3L, 2L, 1L})).thenReturn(List.of(project1, project3));
+
+        // When
+        ProjectLookup result = projectService.getProjectsByIds(List.of(3L, 2L, 3L, 1L));
+
+        // Then
+        assertThat(result.projects()).containsExactly(project3, project1);
+        assertThat(result.missingIds()).containsExactly(2L);
+        verify(projectRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldRejectInvalidLookups() {
+        // Given
+        List<Long> withNull = new ArrayList<>(List.of(1L));
+        withNull.add(null);
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.getProjectsByIds(null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projectService.getProjectsByIds(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projectService.getProjectsByIds(withNull))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projectService.getProjectsByIds(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot look up more than 3 projects per request");
+        verifyNoInteractions(projectRepository);
+    }
+
     @Test
     void shouldCreateProject() {
         // Given
@@ -93,6 +358,57 @@ class ProjectServiceTest {
         verify(projectRepository).save(project);
     }
 
+    @Test
+    void shouldCreateProjectsInBatches() {
+        // Given
+        List<ProjectCreateDto> createDtos = List.of(createTestDto("Project 1"), createTestDto("Project 2"), 
+                createTestDto("Project 3"));
+        Project project1 = createTestProject(1L, "Project 1");
+        Project project2 = createTestProject(2L, "Project 2");
+        Project project3 = createTestProject(3L, "Project 3");
+        
+        when(projectMapper.projectCreateDtoToProject(createDtos.get(0))).thenReturn(project1);
+        when(projectMapper.projectCreateDtoToProject(createDtos.get(1))).thenReturn(project2);
+        when(projectMapper.projectCreateDtoToProject(createDtos.get(2))).thenReturn(project3);
+        when(projectRepository.saveAll(List.of(project1, project2))).thenReturn(List.of(project1, project2));
+        when(projectRepository.saveAll(List.of(project3))).thenReturn(List.of(project3));
+
+        // When
+        List<Project> result = projectService.createProjects(createDtos);
+
+        // Then
+        assertThat(result).containsExactly(project1, project2, project3);
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void shouldRejectBulkCreateWithInvalidItems() {
+        // Given
+        List<ProjectCreateDto> createDtos = List.of(createTestDto("Valid Project"), createTestDto("X"));
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.createProjects(createDtos))
+                .isInstanceOf(BatchValidationException.class)
+                .satisfies(ex -> assertThat(((BatchValidationException) ex).getItemErrors())
+                        .containsOnlyKeys(1)
+                        .extractingByKey(1)
+                        .isEqualTo(Map.of("name", "Name must be between 3 and 100 characters")));
+        verify(projectRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectBulkCreateAboveMaxItems() {
+        // Given
+        List<ProjectCreateDto> createDtos = List.of(createTestDto("Project 1"), createTestDto("Project 2"), 
+                createTestDto("Project 3"), createTestDto("Project 4"));
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.createProjects(createDtos))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot create more than 3 projects per request");
+    }
+
     @Test
     void shouldUpdateProject() {
         // Given
@@ -104,7 +420,7 @@ class ProjectServiceTest {
         when(projectRepository.save(existingProject)).thenReturn(existingProject);
 
         // When
-        Project result = projectService.updateProject(1L, updateDto);
+        Project result = projectService.updateProject(1L, updateDto, null);
 
         // Then
         assertThat(result).isEqualTo(existingProject);
@@ -120,7 +436,106 @@ class ProjectServiceTest {
         when(projectRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> projectService.updateProject(1L, updateDto))
+        assertThatThrownBy(() -> projectService.updateProject(1L, updateDto, null))
+                .isInstanceOf(ProjectNotFoundException.class)
+                .hasMessage("Project not found with id: 1");
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleVersion() {
+        // Given
+        ProjectUpdateDto updateDto = new ProjectUpdateDto("Updated Project", "Updated Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+        Project existingProject = createTestProject(1L, "Old Project");
+        existingProject.setVersion(3L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(existingProject));
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.updateProject(1L, updateDto, 2L))
+                .isInstanceOf(ProjectVersionConflictException.class);
+        verify(projectRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldPatchProjectWithSingleUpdate() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        when(projectRepository.patch(eq(1L), eq(2L), eq("Patched Project"), isNull(), isNull(), isNull(), any()))
+                .thenReturn(1);
+
+        // When
+        long newVersion = projectService.patchProject(1L, patchDto, 2L);
+
+        // Then
+        assertThat(newVersion).isEqualTo(3L);
+        verify(projectRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldPatchCurrentVersionWhenNoneIsExpected() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        when(projectRepository.lockVersion(1L)).thenReturn(Optional.of(4L));
+        when(projectRepository.patch(eq(1L), eq(4L), eq("Patched Project"), isNull(), isNull(), isNull(), any()))
+                .thenReturn(1);
+
+        // When
+        long newVersion = projectService.patchProject(1L, patchDto, null);
+
+        // Then
+        assertThat(newVersion).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPatchingAnyVersionOfNonExistentProject() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        when(projectRepository.lockVersion(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.patchProject(1L, patchDto, null))
+                .isInstanceOf(ProjectNotFoundException.class);
+        verify(projectRepository, never()).patch(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectPatchWithStaleVersion() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        Project currentProject = createTestProject(1L, "Old Project");
+        currentProject.setVersion(5L);
+        when(projectRepository.patch(eq(1L), eq(2L), any(), any(), any(), any(), any())).thenReturn(0);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(currentProject));
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.patchProject(1L, patchDto, 2L))
+                .isInstanceOf(ProjectVersionConflictException.class);
+    }
+
+    @Test
+    void shouldRejectPatchProducingInvalidDateRange() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto(null, null, null, LocalDate.now().plusDays(1));
+        Project currentProject = createTestProject(1L, "Project");
+        currentProject.setVersion(2L);
+        when(projectRepository.patch(eq(1L), eq(2L), any(), any(), any(), any(), any())).thenReturn(0);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(currentProject));
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.patchProject(1L, patchDto, 2L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("End date must be after start date");
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPatchingNonExistentProject() {
+        // Given
+        ProjectPatchDto patchDto = new ProjectPatchDto("Patched Project", null, null, null);
+        when(projectRepository.patch(eq(1L), eq(2L), any(), any(), any(), any(), any())).thenReturn(0);
+        when(projectRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.patchProject(1L, patchDto, 2L))
                 .isInstanceOf(ProjectNotFoundException.class)
                 .hasMessage("Project not found with id: 1");
     }
@@ -128,19 +543,20 @@ class ProjectServiceTest {
     @Test
     void shouldDeleteProject() {
         // Given
-        when(projectRepository.existsById(1L)).thenReturn(true);
+        Project project = createTestProject(1L, "Test Project");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
 
         // When
         projectService.deleteProject(1L);
 
         // Then
-        verify(projectRepository).deleteById(1L);
+        verify(projectRepository).delete(project);
     }
 
     @Test
     void shouldThrowExceptionWhenDeletingNonExistentProject() {
         // Given
-        when(projectRepository.existsById(1L)).thenReturn(false);
+        when(projectRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> projectService.deleteProject(1L))
@@ -148,6 +564,40 @@ class ProjectServiceTest {
                 .hasMessage("Project not found with id: 1");
     }
 
+    private Tuple tupleOf(Long id, Long version, String name) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("version", version);
+        values.put("name", name);
+        Tuple tuple = mock(Tuple.class);
+        lenient().when(tuple.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        lenient().when(tuple.get(anyString(), eq(Long.class))).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return tuple;
+    }
+
+    private ProjectChangeStamp stampOf(Project project) {
+        return new ProjectChangeStamp(project.getId(), project.getVersion());
+    }
+
+    private ProjectSearchHit hitOf(Long id, float rank) {
+        return new ProjectSearchHit() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Float getRank() {
+                return rank;
+            }
+        };
+    }
+
+    private ProjectCreateDto createTestDto(String name) {
+        return new ProjectCreateDto(name, "Test Description", 
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(30));
+    }
+
     private Project createTestProject(Long id, String name) {
         return Project.builder()
                 .id(id)
@@ -157,6 +607,7 @@ class ProjectServiceTest {
                 .endDate(LocalDate.now().plusDays(30))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
+                .version(0L)
                 .build();
     }
 }
@@ -0,0 +1,158 @@
+package com.example.project.service;
+
+import com.example.project.config.ProjectStatsProperties;
+import com.example.project.dto.ProjectStatsDto;
+import com.example.project.repository.ProjectMonthStats;
+import com.example.project.repository.ProjectRepository;
+import com.example.project.repository.ProjectStatsSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStatsServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Spy
+    private ProjectStatsProperties statsProperties = new ProjectStatsProperties(Duration.ofSeconds(10), 24);
+
+    @InjectMocks
+    private ProjectStatsService projectStatsService;
+
+    @Test
+    void shouldComputeStatsFromMonthlyAggregates() {
+        // Given: one project from January to March, one from February to February, one from April to May
+        LocalDateTime refreshedAt = LocalDateTime.of(2030, 6, 1, 12, 0);
+        when(projectRepository.findStatsSummary(any(), any())).thenReturn(summary(1L, refreshedAt));
+        when(projectRepository.findMonthlyStats()).thenReturn(List.of(
+                month(2030, 1, 1, 0, 0),
+                month(2030, 2, 1, 1, 10),
+                month(2030, 3, 0, 1, 70),
+                month(2030, 4, 1, 0, 0),
+                month(2030, 5, 0, 1, 30)));
+
+        // When
+        ProjectStatsDto stats = projectStatsService.getStats(YearMonth.of(2029, 12), YearMonth.of(2030, 6));
+
+        // Then
+        assertThat(stats.totalProjects()).isEqualTo(3);
+        assertThat(stats.averageDurationDays()).isEqualTo(110.0 / 3);
+        assertThat(stats.endingThisWeek()).isEqualTo(1);
+        assertThat(stats.refreshedAt()).isEqualTo(refreshedAt);
+        assertThat(stats.activePerMonth()).extracting(ProjectStatsDto.MonthActivity::activeProjects)
+                .containsExactly(0L, 1L, 2L, 1L, 1L, 1L, 0L);
+        assertThat(stats.activePerMonth().getFirst().month()).isEqualTo(YearMonth.of(2029, 12));
+    }
+
+    @Test
+    void shouldDefaultToTwelveMonthsFromCurrentMonth() {
+        // Given
+        when(projectRepository.findStatsSummary(any(), any())).thenReturn(summary(0L, LocalDateTime.now()));
+        when(projectRepository.findMonthlyStats()).thenReturn(List.of());
+
+        // When
+        ProjectStatsDto stats = projectStatsService.getStats(null, null);
+
+        // Then
+        assertThat(stats.totalProjects()).isZero();
+        assertThat(stats.averageDurationDays()).isNull();
+        assertThat(stats.activePerMonth()).hasSize(ProjectStatsService.DEFAULT_MONTHS);
+        assertThat(stats.activePerMonth().getFirst().month()).isEqualTo(YearMonth.now());
+        LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY);
+        verify(projectRepository).findStatsSummary(monday, monday.plusDays(6));
+    }
+
+    @Test
+    void shouldRejectInvalidMonthRange() {
+        // When & Then
+        assertThatThrownBy(() -> projectStatsService.getStats(YearMonth.of(2030, 5), YearMonth.of(2030, 4)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> projectStatsService.getStats(YearMonth.of(2030, 1), YearMonth.of(2032, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("24");
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void shouldRefreshOnlyWhenStale() {
+        // Given
+        when(projectRepository.tryLockStatsRefresh()).thenReturn(true);
+        when(projectRepository.isStatsStale()).thenReturn(false, true);
+
+        // When
+        projectStatsService.refreshIfStale();
+        projectStatsService.refreshIfStale();
+
+        // Then
+        verify(projectRepository, times(1)).markStatsRefreshed();
+        verify(projectRepository, times(1)).refreshStats();
+    }
+
+    @Test
+    void shouldSkipRefreshWhileAnotherNodeRefreshes() {
+        // Given
+        when(projectRepository.tryLockStatsRefresh()).thenReturn(false);
+
+        // When
+        projectStatsService.refreshIfStale();
+
+        // Then
+        verify(projectRepository, never()).isStatsStale();
+        verify(projectRepository, never()).refreshStats();
+    }
+
+    private ProjectStatsSummary summary(Long endingBetween, LocalDateTime refreshedAt) {
+        return new ProjectStatsSummary() {
+            @Override
+            public Long getEndingBetween() {
+                return endingBetween;
+            }
+
+            @Override
+            public LocalDateTime getRefreshedAt() {
+                return refreshedAt;
+            }
+        };
+    }
+
+    private ProjectMonthStats month(int year, int month, long starting, long ending, long durationDays) {
+        return new ProjectMonthStats() {
+            @Override
+            public LocalDate getMonth() {
+                return LocalDate.of(year, month, 1);
+            }
+
+            @Override
+            public Long getStarting() {
+                return starting;
+            }
+
+            @Override
+            public Long getEnding() {
+                return ending;
+            }
+
+            @Override
+            public Long getDurationDays() {
+                return durationDays;
+            }
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.project.service;
+
+import com.example.project.config.PaginationProperties;
+import com.example.project.config.PrimaryOnlyRouting;
+import com.example.project.config.ProjectSyncProperties;
+import com.example.project.dto.ProjectChangeDto;
+import com.example.project.dto.ProjectChangesDto;
+import com.example.project.dto.ProjectDto;
+import com.example.project.entity.Project;
+import com.example.project.exception.SyncTokenExpiredException;
+import com.example.project.mapper.ProjectMapper;
+import com.example.project.repository.ProjectChangeRow;
+import com.example.project.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectSyncServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectMapper projectMapper;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties(2, 5);
+
+    @Spy
+    private ProjectSyncProperties syncProperties = new ProjectSyncProperties(Duration.ofDays(30), Duration.ofHours(1));
+
+    @InjectMocks
+    private ProjectSyncService projectSyncService;
+
+    @Test
+    void shouldReturnEveryProjectOnFullSync() {
+        // Given
+        Project project = createTestProject(1L, 0L);
+        ProjectDto dto = new ProjectDto(1L, "Project 1", "Description", null, null);
+        when(projectRepository.findSnapshotXmin()).thenReturn("100");
+        when(projectRepository.findChangesAfter("0", 0, false, 3)).thenReturn(List.of(row(1L, 0L, "90", false)));
+        when(projectRepository.findAllById(List.of(1L))).thenReturn(List.of(project));
+        when(projectMapper.projectToProjectDto(project)).thenReturn(dto);
+
+        // When
+        ProjectChangesDto result = projectSyncService.getChanges(null, null);
+
+        // Then
+        assertThat(result.changes()).containsExactly(new ProjectChangeDto(ProjectChangeDto.CREATED, 1L, 0L, dto));
+        assertThat(result.hasMore()).isFalse();
+        assertThat(ProjectCursor.decodeSync(result.syncToken()))
+                .isEqualTo(new ProjectCursor.SyncPosition(100, 0, null, false));
+        verify(projectRepository, never()).findPrunedTombstoneXid();
+    }
+
+    @Test
+    void shouldContinueRoundFromLastChangeAndKeepOldestHorizon() {
+        // Given
+        String since = ProjectCursor.encodeSync(new ProjectCursor.SyncPosition(50, 0, null, false));
+        when(projectRepository.findPrunedTombstoneXid()).thenReturn("0");
+        when(projectRepository.findSnapshotXmin()).thenReturn("120");
+        when(projectRepository.findChangesAfter("50", 0, true, 3)).thenReturn(List.of(
+                row(3L, 1L, "60", true), row(4L, 1L, "61", true), row(5L, 1L, "62", true)));
+
+        // When
+        ProjectChangesDto first = projectSyncService.getChanges(since, null);
+        when(projectRepository.findSnapshotXmin()).thenReturn("130");
+        when(projectRepository.findChangesAfter("61", 4L, true, 3)).thenReturn(List.of(row(5L, 1L, "62", true)));
+        ProjectChangesDto second = projectSyncService.getChanges(first.syncToken(), null);
+
+        // Then
+        assertThat(first.changes()).extracting(ProjectChangeDto::id).containsExactly(3L, 4L);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(ProjectCursor.decodeSync(first.syncToken()))
+                .isEqualTo(new ProjectCursor.SyncPosition(61, 4L, 120L, false));
+        assertThat(second.changes()).extracting(ProjectChangeDto::type).containsExactly(ProjectChangeDto.DELETED);
+        assertThat(second.hasMore()).isFalse();
+        assertThat(ProjectCursor.decodeSync(second.syncToken()))
+                .isEqualTo(new ProjectCursor.SyncPosition(120, 0, null, false));
+    }
+
+    @Test
+    void shouldRejectSyncTokenOlderThanPrunedTombstones() {
+        // Given
+        String since = ProjectCursor.encodeSync(new ProjectCursor.SyncPosition(50, 0, null, false));
+        when(projectRepository.findPrunedTombstoneXid()).thenReturn("50");
+
+        // When & Then
+        assertThatThrownBy(() -> projectSyncService.getChanges(since, null))
+                .isInstanceOf(SyncTokenExpiredException.class);
+        verify(projectRepository, never()).findChangesAfter(anyString(), anyLong(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void shouldReadSyncPositionsOnPrimary() {
+        // Given
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(projectSyncService);
+        proxyFactory.addAspect(new PrimaryOnlyRouting());
+        ProjectSyncService routed = proxyFactory.getProxy();
+        when(projectRepository.findSnapshotXmin()).thenAnswer(invocation -> {
+            assertThat(PrimaryOnlyRouting.isActive()).isTrue();
+            return "100";
+        });
+        when(projectRepository.findChangesAfter("0", 0, false, 3)).thenAnswer(invocation -> {
+            assertThat(PrimaryOnlyRouting.isActive()).isTrue();
+            return List.of();
+        });
+
+        // When
+        ProjectChangesDto result = routed.getChanges(null, null);
+
+        // Then
+        assertThat(result.changes()).isEmpty();
+        assertThat(PrimaryOnlyRouting.isActive()).isFalse();
+    }
+
+    @Test
+    void shouldRejectMalformedSyncToken() {
+        // When & Then
+        assertThatThrownBy(() -> projectSyncService.getChanges("not-a-token", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldPruneTombstonesOlderThanRetention() {
+        // Given
+        when(projectRepository.pruneTombstones(Duration.ofDays(30).toSeconds())).thenReturn(2L);
+
+        // When
+        projectSyncService.pruneTombstones();
+
+        // Then
+        verify(projectRepository).pruneTombstones(2_592_000L);
+    }
+
+    private ProjectChangeRow row(Long id, Long version, String changeXid, Boolean deleted) {
+        return new ProjectChangeRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getChangeXid() {
+                return changeXid;
+            }
+
+            @Override
+            public Boolean getDeleted() {
+                return deleted;
+            }
+        };
+    }
+
+    private Project createTestProject(Long id, Long version) {
+        return Project.builder()
+                .id(id)
+                .version(version)
+                .name("Project " + id)
+                .description("Description")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(30))
+                .build();
+    }
+}
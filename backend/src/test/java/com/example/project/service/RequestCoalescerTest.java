@@ -0,0 +1,194 @@
+package com.example.project.service;
+
+import com.example.project.entity.Project;
+import com.example.project.exception.ProjectNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestCoalescerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CountDownLatch loading = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentIdenticalCalls() throws Throwable {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Object project = new Object();
+        ProceedingJoinPoint call = blockingCall(1L, () -> {
+            loads.incrementAndGet();
+            return project;
+        });
+        List<Future<Object>> callers = new ArrayList<>();
+        callers.add(submit(call));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            callers.add(submit(call));
+        }
+        awaitCoalesced(9);
+        release.countDown();
+
+        // Then
+        for (Future<Object> caller : callers) {
+            assertThat(caller.get(1, TimeUnit.SECONDS)).isSameAs(project);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("app.coalescing.loads").tag("method", "getProjectById").counter().count()).isEqualTo(1);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotShareChangesBetweenCoalescedCallers() throws Throwable {
+        // Given
+        Project project = Project.builder().id(1L).name("Shared Project").version(0L).build();
+        ProceedingJoinPoint call = blockingCall(1L, () -> project);
+        Future<Object> first = submit(call);
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        Future<Object> second = submit(call);
+        Future<Object> third = submit(call);
+        awaitCoalesced(2);
+        release.countDown();
+
+        // When
+        Project loaded = (Project) first.get(1, TimeUnit.SECONDS);
+        loaded.setName("Changed by first caller");
+        Project joined = (Project) second.get(1, TimeUnit.SECONDS);
+        joined.setDescription("Changed by second caller");
+
+        // Then
+        Project other = (Project) third.get(1, TimeUnit.SECONDS);
+        assertThat(List.of(joined, other)).allSatisfy(caller -> {
+            assertThat(caller).isNotSameAs(loaded);
+            assertThat(caller.getName()).isEqualTo("Shared Project");
+        });
+        assertThat(other).isNotSameAs(joined);
+        assertThat(other.getDescription()).isNull();
+    }
+
+    @Test
+    void shouldPassFailureToWaitingCalls() throws Throwable {
+        // Given
+        ProceedingJoinPoint call = blockingCall(1L, () -> {
+            throw new ProjectNotFoundException("Project not found with id: 1");
+        });
+        Future<Object> first = submit(call);
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        Future<Object> second = submit(call);
+        awaitCoalesced(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<Object> caller : List.of(first, second)) {
+            assertThatThrownBy(() -> caller.get(1, TimeUnit.SECONDS))
+                    .hasRootCauseInstanceOf(ProjectNotFoundException.class);
+        }
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldLoadSeparatelyForDifferentArgumentsAndAfterCompletion() throws Throwable {
+        // Given
+        ProceedingJoinPoint first = call(1L);
+        ProceedingJoinPoint second = call(2L);
+        when(first.proceed()).thenReturn("first", "first again");
+        when(second.proceed()).thenReturn("second");
+
+        // When
+        Object firstResult = coalescer.coalesce(first);
+        Object secondResult = coalescer.coalesce(second);
+        Object firstAgain = coalescer.coalesce(first);
+
+        // Then
+        assertThat(firstResult).isEqualTo("first");
+        assertThat(secondResult).isEqualTo("second");
+        assertThat(firstAgain).isEqualTo("first again");
+        assertThat(meterRegistry.get("app.coalescing.loads").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.find("app.coalescing.coalesced").counter()).isNull();
+    }
+
+    private ProceedingJoinPoint call(Long id) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(ProjectService.class.getMethod("getProjectById", Long.class));
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.getSignature()).thenReturn(signature);
+        when(call.getArgs()).thenReturn(new Object[] {id});
+        return call;
+    }
+
+    // A call whose load runs until the test releases it
+    private ProceedingJoinPoint blockingCall(Long id, Load load) throws Throwable {
+        ProceedingJoinPoint call = call(id);
+        when(call.proceed()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return load.run();
+        });
+        return call;
+    }
+
+    private Future<Object> submit(ProceedingJoinPoint call) {
+        return executor.submit(() -> {
+            try {
+                return coalescer.coalesce(call);
+            } catch (Exception ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private void awaitCoalesced(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (coalescedCount() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(coalescedCount()).isEqualTo(calls);
+    }
+
+    private double coalescedCount() {
+        Counter counter = meterRegistry.find("app.coalescing.coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        Object run();
+    }
+}
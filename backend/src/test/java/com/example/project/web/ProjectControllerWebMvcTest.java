@@ -4,19 +4,28 @@ import com.example.project.controller.ProjectController;
 import com.example.project.dto.ProjectDto;
 import com.example.project.entity.Project;
 import com.example.project.mapper.ProjectMapper;
+import com.example.project.service.ProjectChangeFeed;
+import com.example.project.service.ProjectImportService;
 import com.example.project.service.ProjectService;
+import com.example.project.service.ProjectStatsService;
+import com.example.project.service.ProjectSyncService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ProjectController.class)
@@ -29,6 +38,18 @@ class ProjectControllerWebMvcTest {
     @MockitoBean 
     ProjectService projectService;
     
+    @MockitoBean
+    ProjectImportService projectImportService;
+    
+    @MockitoBean
+    ProjectChangeFeed projectChangeFeed;
+    
+    @MockitoBean
+    ProjectSyncService projectSyncService;
+    
+    @MockitoBean
+    ProjectStatsService projectStatsService;
+    
     @MockitoBean
     ProjectMapper projectMapper;
     
@@ -54,4 +75,29 @@ class ProjectControllerWebMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Test Project"));
     }
+    
+    @Test
+    void getProject_returnsCborWhenAccepted() throws Exception {
+        Project project = Project.builder()
+                .id(42L)
+                .name("Test Project")
+                .version(0L)
+                .build();
+        ProjectDto dto = new ProjectDto(42L, "Test Project", "Description", 
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 6, 30));
+        
+        given(projectService.getProjectById(42L)).willReturn(project);
+        given(projectMapper.projectToProjectDto(project)).willReturn(dto);
+        
+        byte[] body = mvc.perform(get("/api/projects/42").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42-0.cbor\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        Map<?, ?> decoded = new CBORMapper().readValue(body, Map.class);
+        assertThat(decoded.get("name")).isEqualTo("Test Project");
+        assertThat(decoded.get("startDate")).isEqualTo("2030-01-01");
+    }
 }
@@ -1,4 +1,4 @@
-import type { Project } from '~/types/project'
+import type { Project, ProjectPage } from '~/types/project'
 
 interface ApiError {
   type: string
@@ -37,9 +37,12 @@ export const useProjectApi = () => {
     return response.json()
   }
 
-  const getAllProjects = async (): Promise<Project[]> => {
-    const response = await fetch(`${apiBase}/api/projects`)
-    return handleApiResponse(response)
+  // One page of the list; nextCursor is null on the last page
+  const getProjectsPage = async (after: string | null = null): Promise<ProjectPage> => {
+    const query = after ? `?after=${encodeURIComponent(after)}` : ''
+    const response = await fetch(`${apiBase}/api/projects${query}`)
+    const projects: Project[] = await handleApiResponse(response)
+    return { projects, nextCursor: response.headers.get('X-Next-Cursor') }
   }
 
   const getProjectById = async (id: number): Promise<Project> => {
@@ -95,7 +98,7 @@ export const useProjectApi = () => {
   }
 
   return {
-    getAllProjects,
+    getProjectsPage,
     getProjectById,
     createProject,
     updateProject,
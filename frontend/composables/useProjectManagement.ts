@@ -1,13 +1,15 @@
-import { ref, readonly } from 'vue'
+import { ref, readonly, computed } from 'vue'
 import type { Project } from '~/types/project'
 
 export const useProjectManagement = () => {
-  const { getAllProjects, deleteProject, createProject, updateProject } = useProjectApi()
+  const { getProjectsPage, deleteProject, createProject, updateProject } = useProjectApi()
   const { showErrorMessage } = useErrorHandler()
   
   // State
   const projects = ref<Project[]>([])
   const loading = ref(false)
+  const loadingMore = ref(false)
+  const nextCursor = ref<string | null>(null)
   const deletingId = ref<number | null>(null)
   
   // Modal states
@@ -22,7 +24,9 @@ export const useProjectManagement = () => {
   const loadProjects = async () => {
     loading.value = true
     try {
-      projects.value = await getAllProjects()
+      const page = await getProjectsPage()
+      projects.value = page.projects
+      nextCursor.value = page.nextCursor
     } catch (error) {
       showErrorMessage(error instanceof Error ? error.message : 'Failed to load projects')
       console.error('Failed to load projects:', error)
@@ -31,6 +35,23 @@ export const useProjectManagement = () => {
     }
   }
   
+  // Pages are fetched on demand; the list is never downloaded in one go
+  const loadMoreProjects = async () => {
+    if (!nextCursor.value || loadingMore.value) return
+    
+    loadingMore.value = true
+    try {
+      const page = await getProjectsPage(nextCursor.value)
+      projects.value = [...projects.value, ...page.projects]
+      nextCursor.value = page.nextCursor
+    } catch (error) {
+      showErrorMessage(error instanceof Error ? error.message : 'Failed to load projects')
+      console.error('Failed to load more projects:', error)
+    } finally {
+      loadingMore.value = false
+    }
+  }
+  
   const handleDelete = async (item: Project) => {
     if (confirm('Are you sure you want to delete this project?')) {
       deletingId.value = item.id!
@@ -99,6 +120,8 @@ export const useProjectManagement = () => {
     // State
     projects: readonly(projects),
     loading: readonly(loading),
+    loadingMore: readonly(loadingMore),
+    hasMore: computed(() => nextCursor.value !== null),
     deletingId: readonly(deletingId),
     createModalOpen,
     editModalOpen,
@@ -108,6 +131,7 @@ export const useProjectManagement = () => {
     
     // Actions
     loadProjects,
+    loadMoreProjects,
     handleDelete,
     handleCreate,
     handleEdit,
@@ -5,3 +5,8 @@ export interface Project {
   startDate: string;
   endDate: string;
 }
+
+export interface ProjectPage {
+  projects: Project[];
+  nextCursor: string | null;
+}